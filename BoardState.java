@@ -15,6 +15,10 @@ public class BoardState {
 	//final int arrays to represent goal board states
 	private static final int SOLVEDZEROSTART[] = {0,1,2,3,4,5,6,7,8}; //array representing a solved board. For this goal state, a given block's value should match its index in the array.
 	private static final int SOLVEDZEROEND[] = {1,2,3,4,5,6,7,8,0}; //another solved board array, this one with the blank/0 at the end.
+	public static final long PACKEDZEROSTART = pack(SOLVEDZEROSTART); //the packed form of SOLVEDZEROSTART, see the pack method.
+	public static final long PACKEDZEROEND = pack(SOLVEDZEROEND); //the packed form of SOLVEDZEROEND.
+	//legal moves for a packed board, indexed by the blank's position. Each entry lists the positions a tile can slide into the blank from, in the same order generatePossibleBoards uses.
+	private static final int LEGALMOVES[][] = {{1,3},{0,2,4},{1,5},{0,4,6},{1,3,5,7},{2,4,8},{3,7},{4,6,8},{5,7}};
 	private int tiles[]; //array of tiles in a board.
 	private int closerToGoal; //int tracking which goal state a given initial board state is closer to. This will decide which goal to move towards in the search, and which manhattan distance to calculate.
 	//0 = undecided, 1 = closer to SOLVEDZEROSTART, 2 = closer to SOLVEDZEROEND
@@ -37,6 +41,85 @@ public class BoardState {
     	return tiles;
     }
     
+   /**
+    *Method that packs an array of tiles into a single long, four bits per tile. The tile at index i is stored in bits 4i through 4i+3.
+    *This is the compact board representation used by SlidingBlockArena, so a search node costs 8 bytes of board instead of a BoardState and its array.
+    *
+    *@param arr -- an array of 9 tiles
+    *@return long -- the packed board
+    */
+    public static long pack(int arr[]) {
+    	long packed = 0;
+    	for(int i = 0; i < 9; i++) {
+    		packed |= ((long)(arr[i] & 0xF)) << (4 * i);
+    	}
+    	return packed;
+    }
+    
+    //packs this boardstate's tile array, see the static pack method
+    public long pack() {
+    	return pack(tiles);
+    }
+    
+   /**
+    *Method that reverses pack, writing the tiles of a packed board into a given array.
+    *
+    *@param packed -- a board produced by pack
+    *@param into -- an array of at least 9 ints to fill with tiles
+    *@return int[] -- the array that was passed in, for convenience
+    */
+    public static int[] unpack(long packed, int into[]) {
+    	for(int i = 0; i < 9; i++) {
+    		into[i] = (int)((packed >>> (4 * i)) & 0xF);
+    	}
+    	return into;
+    }
+    
+   /**
+    *Method that finds the position of the blank within a packed board.
+    *
+    *@param packed -- a board produced by pack
+    *@return int -- index of the 0 tile
+    */
+    public static int blankPosition(long packed) {
+    	for(int i = 0; i < 9; i++) {
+    		if(((packed >>> (4 * i)) & 0xF) == 0) {
+    			return i;
+    		}
+    	}
+    	return -1;
+    }
+    
+   /**
+    *Packed equivalent of generatePossibleBoards. Rather than creating new BoardStates, it writes every reachable packed board into a caller supplied array.
+    *A move slides the tile at a legal position into the blank, so the only nibbles that change are those of the blank and of the moved tile.
+    *
+    *@param packed -- a board produced by pack
+    *@param into -- array of at least 4 longs to receive the reachable boards
+    *@return int -- the number of reachable boards written
+    */
+    public static int generatePossibleBoards(long packed, long into[]) {
+    	int blankPos = blankPosition(packed);
+    	int legal[] = LEGALMOVES[blankPos];
+    	for(int i = 0; i < legal.length; i++) {
+    		int posFrom = legal[i];
+    		long moving = (packed >>> (4 * posFrom)) & 0xF; //the tile that slides into the blank
+    		//clear the tile's old nibble, leaving a 0 there, and write the tile where the blank was
+    		into[i] = (packed & ~(0xFL << (4 * posFrom))) | (moving << (4 * blankPos));
+    	}
+    	return legal.length;
+    }
+    
+    //returns the positions a tile can slide into the blank from, when the blank is at blankPos. The returned array is shared, and must not be modified.
+    public static int[] legalMoves(int blankPos) {
+    	return LEGALMOVES[blankPos];
+    }
+    
+    //true if a packed board matches either solved configuration
+    public static boolean isSolved(long packed) {
+    	return packed == PACKEDZEROSTART || packed == PACKEDZEROEND;
+    }
+    
      /**
     *Method that determines if a given BoardState is solvable or not. It uses the findInversions method to determine this.
     *
@@ -167,6 +250,16 @@ public class BoardState {
      *@return int -- the closest manhattan distance of this board state.
      */
      public int calcManhattanDistance() {
+     	return manhattanDistance(tiles);
+     }
+     
+    /**
+     *Static form of calcManhattanDistance that works on any tile array, so the search can score packed boards without building a BoardState.
+     *
+     *@param tiles -- an array of 9 tiles
+     *@return int -- the closest manhattan distance of the given tiles.
+     */
+     public static int manhattanDistance(int tiles[]) {
      		//find distance to goal state with the zero at the beginning
 	     	int total1 = 0; //the total sum for the board
 	     	for(int i = 0; i < 9; i++) {
@@ -0,0 +1,54 @@
+/**
+ * @(#)SlidingBlockArena.java
+ * This class describes where the SlidingBlockSolver stores the nodes of its search tree. Instead of one SlidingBlockState object per node, with its two BoardStates and two tile arrays,
+ * a node is just a handful of primitive fields: the packed board (see BoardState.pack), the number of moves made to reach it, its heuristic value, the handle of its parent node,
+ * and the position its last move slid a tile into. A node is addressed by an int handle. Handles are handed out in order, starting at 0, and a stored node never changes.
+ * SlidingBlockHeapArena keeps the nodes in arrays on the Java heap, and SlidingBlockOffHeapArena keeps them outside it.
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+public abstract class SlidingBlockArena {
+	public static final int NO_PARENT = -1; //parent handle of the root node
+	public static final int NO_MOVE = -1; //last move of the root node
+
+   /**
+    *Method that stores a new node and returns its handle.
+    *
+    *@param board -- the packed board of the node
+    *@param numMoves -- number of moves made to reach the board
+    *@param heuristic -- heuristic value of the board, between 0 and 127
+    *@param parent -- handle of the node this one was generated from, or NO_PARENT
+    *@param lastMove -- position the last move slid a tile into, or NO_MOVE
+    *@return int -- the handle of the new node
+    */
+    public abstract int add(long board, int numMoves, int heuristic, int parent, int lastMove);
+
+    //The following are our accessor/"getter" methods, each taking a node handle
+    public abstract long getBoard(int handle);
+
+    public abstract int getMoves(int handle);
+
+    public abstract int getHeuristic(int handle);
+
+    public abstract int getParent(int handle);
+
+    public abstract int getLastMove(int handle);
+
+    //number of nodes stored in the arena
+    public abstract int size();
+
+    //To String method to print out the game state held by a node, matching SlidingBlockState's toString
+    public String toString(int handle) {
+    	BoardState board = new BoardState(BoardState.unpack(getBoard(handle), new int[9]));
+    	return (board.toString() + "Reached in " + getMoves(handle) + " moves.");
+    }
+
+    //alternate string for a node holding our goal state, matching SlidingBlockState's goalStateString
+    public String goalStateString(int handle) {
+    	BoardState board = new BoardState(BoardState.unpack(getBoard(handle), new int[9]));
+    	return ("Puzzle Solved! The goal configuration:\n" + board.toString() + " was reached in " + getMoves(handle) + " moves.");
+    }
+}
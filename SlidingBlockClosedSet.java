@@ -0,0 +1,56 @@
+/**
+ * @(#)SlidingBlockClosedSet.java
+ * This class describes how the SlidingBlockSolver remembers every board it has generated, so the search never queues the same board twice.
+ * A closed set is an open-addressing hash table of SlidingBlockArena node handles, keyed by each node's packed board (see BoardState.pack). The board itself is already stored in the arena,
+ * so the table only holds the 4 byte handle, and a probe compares boards by reading them back out of the arena.
+ * SlidingBlockHeapClosedSet keeps the table on the Java heap, and SlidingBlockOffHeapClosedSet keeps it outside it.
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+public abstract class SlidingBlockClosedSet {
+	public static final int NOT_FOUND = -1; //handle returned for boards that are not in the set
+	protected static final int EMPTY = -1; //marks an unused slot. Arena handles are never negative.
+
+   /**
+    *Method that mixes the bits of a packed board into a well spread int hash. Nearby boards differ in only a couple of nibbles, so the raw value makes a poor hash.
+    *
+    *@param board -- a packed board
+    *@return int -- hash of the board
+    */
+    public static int hash(long board) {
+    	long h = board * 0x9E3779B97F4A7C15L;
+    	return (int)(h ^ (h >>> 32));
+    }
+
+   /**
+    *Method that looks up the node handle stored for a board.
+    *
+    *@param board -- a packed board
+    *@return int -- the handle stored with the board, or NOT_FOUND
+    */
+    public abstract int get(long board);
+
+   /**
+    *Method that adds a node's board to the set, unless it is already there. The node must already be stored in the arena.
+    *
+    *@param board -- the packed board of the node
+    *@param handle -- handle of the arena node holding the board
+    *@return boolean -- true if the board was added, false if it was already in the set
+    */
+    public abstract boolean add(long board, int handle);
+
+   /**
+    *Method that points a board already in the set at a different node, such as a newer node that reaches the same board in fewer moves.
+    *
+    *@param board -- a packed board
+    *@param handle -- handle of the arena node that should stand for the board from now on
+    *@return boolean -- true if the board was found and updated, false if it isn't in the set
+    */
+    public abstract boolean replace(long board, int handle);
+
+    //number of boards in the set
+    public abstract int size();
+}
@@ -0,0 +1,361 @@
+/**
+ * @(#)SlidingBlockDistributedSolver.java
+ * This class spreads one search for the solution of a sliding block puzzle over several SlidingBlockWorker processes, so the search can hold a larger frontier than one JVM's heap allows.
+ * The boards are hash partitioned across the workers (see SlidingBlockWorker.owner), and the workers send each other the boards they generate for one another in compressed batches.
+ * This class is the coordinator. It hands every worker its id, the addresses of the other workers and the starting board, and then tracks the bound: the fewest moves of any goal
+ * a worker has reported. Every time the bound drops, the coordinator sends it to every worker in a BOUND message, and the workers drop every node that can't lead to a goal
+ * in fewer moves (see SlidingBlockWorker). So unlike SlidingBlockSolver, which stops at the first goal it reaches, this search keeps going until nothing that could beat the bound is left,
+ * and the bound it reports is the length of a shortest solution, however many workers took part.
+ *
+ * The search is over once every worker is idle and no batch is still in flight. The coordinator detects this by probing the workers in waves.
+ * Each worker replies with whether it is idle and how many batches it has sent and received. The search has terminated when two waves in a row find every worker idle,
+ * equal totals of batches sent and received, and exactly the same counters in both waves. A worker only becomes busy again by receiving a batch, which would change its counters.
+ *
+ * This class can be called on a command line in one of two ways:
+ *	1. With a number of workers followed by a starting board. The workers are started as local processes, connected over the loopback interface.
+ *		-Example: java SlidingBlockDistributedSolver 4 8 6 7 2 5 4 3 0 1
+ *	2. With "coordinator", a port, a number of workers and a starting board. Each worker is then started separately, on any host, with: java SlidingBlockWorker coordinatorHost port
+ *		-Example: java SlidingBlockDistributedSolver coordinator 7342 4 8 6 7 2 5 4 3 0 1
+ * In the first form, the board can be followed by "offheap", or "offheap=directory", which is passed on to every worker (see SlidingBlockWorker).
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+import java.io.*;
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class SlidingBlockDistributedSolver {
+	private static final int PROBEINTERVAL = 10; //minimum milliseconds between the starts of two probe waves
+	private static final int DISCONNECTED = -1; //event type used when a worker's connection drops
+	private static final int ACCEPTPOLL = 250; //milliseconds between checks on the workers that haven't joined yet
+	private static final int JOINTIMEOUT = 120000; //milliseconds every worker has to join the search
+
+	private ServerSocket server; //accepts the workers' connections
+	private int numWorkers;
+	private long startBoard; //packed starting board
+	private DataInputStream ins[]; //connection from each worker, indexed by worker id
+	private DataOutputStream outs[]; //connection to each worker. Only the coordinator's own thread writes to them.
+	private BlockingQueue<long[]> events; //messages from the workers, as {worker id, type, fields...}
+	private long nodesStored[]; //number of nodes each worker stored, from its STATS message
+
+   /**
+    *Constructor that opens the coordinator's server socket.
+    *
+    *@param port -- the port to listen on, or 0 for any free port
+    *@param workers -- number of workers that will join the search
+    *@param startTiles -- the starting board
+    *@return SlidingBlockDistributedSolver
+    *@throws IOException -- if the port can't be opened
+    */
+    public SlidingBlockDistributedSolver(int port, int workers, int startTiles[]) throws IOException {
+    	server = new ServerSocket(port);
+    	numWorkers = workers;
+    	startBoard = BoardState.pack(startTiles);
+    	ins = new DataInputStream[workers];
+    	outs = new DataOutputStream[workers];
+    	events = new LinkedBlockingQueue<long[]>();
+    	nodesStored = new long[workers];
+    }
+
+    //accessor for the port the coordinator listens on, which workers connect to
+    public int getPort() {
+    	return server.getLocalPort();
+    }
+
+    //accessor for the number of nodes each worker stored. Only filled in once solve has returned.
+    public long[] getNodesStored() {
+    	return nodesStored;
+    }
+
+   /**
+    *Method that waits for every worker to join, runs the search, and stops the workers. Every worker has JOINTIMEOUT milliseconds to join,
+    *and if the workers were started as local processes, the search is given up as soon as one of them exits before joining.
+    *
+    *@param processes -- the local worker processes, or an empty list if the workers were started some other way
+    *@return int -- the number of moves of a shortest solution, or -1 if the search ended without finding a goal
+    *@throws IOException -- if a worker doesn't join in time, can't be reached, or drops out of the search
+    */
+    public int solve(List<Process> processes) throws IOException, InterruptedException {
+    	//wait for every worker to say HELLO
+    	String hosts[] = new String[numWorkers];
+    	int ports[] = new int[numWorkers];
+    	long deadline = System.currentTimeMillis() + JOINTIMEOUT;
+    	server.setSoTimeout(ACCEPTPOLL);
+    	int joined = 0;
+    	while(joined < numWorkers) {
+    		Socket worker;
+    		try {
+    			worker = server.accept();
+    		}
+    		catch(SocketTimeoutException e) {
+    			for(Process process : processes) {
+    				if(!process.isAlive()) {
+    					throw new IOException("A worker process exited with code " + process.exitValue() + " while the workers were joining the search.");
+    				}
+    			}
+    			if(System.currentTimeMillis() > deadline) {
+    				throw new IOException("Only " + joined + " of " + numWorkers + " workers joined the search within " + (JOINTIMEOUT / 1000) + " seconds.");
+    			}
+    			continue;
+    		}
+    		worker.setTcpNoDelay(true);
+    		worker.setSoTimeout(JOINTIMEOUT); //don't wait forever on something that connects but never says HELLO
+    		ins[joined] = new DataInputStream(new BufferedInputStream(worker.getInputStream()));
+    		outs[joined] = new DataOutputStream(new BufferedOutputStream(worker.getOutputStream()));
+    		if(ins[joined].readByte() != SlidingBlockWorker.HELLO) {
+    			throw new IOException("Expected a HELLO message from worker " + joined + ".");
+    		}
+    		hosts[joined] = worker.getInetAddress().getHostAddress();
+    		ports[joined] = ins[joined].readInt();
+    		worker.setSoTimeout(0);
+    		joined++;
+    	}
+    	server.close();
+
+    	//hand out ids and addresses
+    	for(int i = 0; i < numWorkers; i++) {
+    		outs[i].writeByte(SlidingBlockWorker.START);
+    		outs[i].writeInt(i);
+    		outs[i].writeInt(numWorkers);
+    		for(int j = 0; j < numWorkers; j++) {
+    			outs[i].writeUTF(hosts[j]);
+    			outs[i].writeInt(ports[j]);
+    		}
+    		outs[i].writeLong(startBoard);
+    		outs[i].flush();
+    		startReader(i);
+    	}
+
+    	int bound = -1; //fewest moves of any goal reported so far
+    	int wave = 0; //number of the probe wave in progress
+    	int replies = 0; //replies received for the wave in progress
+    	boolean allIdle = true; //true while every reply of the wave in progress says idle
+    	long counters[] = new long[2 * numWorkers]; //sent and received counters of each worker in the wave in progress
+    	long lastCounters[] = null; //counters of the last wave that found every worker idle and balanced
+    	long lastWaveStart = 0;
+    	boolean waveOutstanding = false;
+
+    	while(true) {
+    		if(!waveOutstanding && System.currentTimeMillis() - lastWaveStart >= PROBEINTERVAL) {
+    			wave++;
+    			replies = 0;
+    			allIdle = true;
+    			for(DataOutputStream out : outs) {
+    				out.writeByte(SlidingBlockWorker.PROBE);
+    				out.writeInt(wave);
+    				out.flush();
+    			}
+    			lastWaveStart = System.currentTimeMillis();
+    			waveOutstanding = true;
+    		}
+    		long event[] = events.poll(PROBEINTERVAL, TimeUnit.MILLISECONDS);
+    		if(event == null) {
+    			continue;
+    		}
+    		int worker = (int)event[0];
+    		int type = (int)event[1];
+    		if(type == DISCONNECTED) {
+    			throw new IOException("Worker " + worker + " dropped out of the search.");
+    		}
+    		else if(type == SlidingBlockWorker.GOAL) {
+    			if(bound < 0 || event[2] < bound) {
+    				bound = (int)event[2];
+    				for(DataOutputStream out : outs) {
+    					out.writeByte(SlidingBlockWorker.BOUND);
+    					out.writeInt(bound);
+    					out.flush();
+    				}
+    			}
+    		}
+    		else if(type == SlidingBlockWorker.PROBEREPLY && event[2] == wave) {
+    			allIdle = allIdle && (event[3] != 0);
+    			counters[2 * worker] = event[4];
+    			counters[2 * worker + 1] = event[5];
+    			replies++;
+    			if(replies == numWorkers) {
+    				waveOutstanding = false;
+    				long sent = 0;
+    				long received = 0;
+    				for(int i = 0; i < numWorkers; i++) {
+    					sent += counters[2 * i];
+    					received += counters[2 * i + 1];
+    				}
+    				if(allIdle && sent == received) {
+    					if(lastCounters != null && Arrays.equals(counters, lastCounters)) {
+    						break; //terminated
+    					}
+    					lastCounters = counters.clone();
+    				}
+    				else {
+    					lastCounters = null;
+    				}
+    			}
+    		}
+    	}
+
+    	//stop every worker, and collect their STATS
+    	for(DataOutputStream out : outs) {
+    		out.writeByte(SlidingBlockWorker.STOP);
+    		out.flush();
+    	}
+    	int stopped = 0;
+    	while(stopped < numWorkers) {
+    		long event[] = events.take();
+    		int type = (int)event[1];
+    		if(type == SlidingBlockWorker.STATS) {
+    			nodesStored[(int)event[0]] = event[2];
+    			stopped++;
+    		}
+    		else if(type == DISCONNECTED) {
+    			throw new IOException("Worker " + event[0] + " dropped out before reporting its STATS.");
+    		}
+    	}
+    	return bound;
+    }
+
+   /**
+    *Private helper that starts a daemon thread decoding every message from one worker into the events queue.
+    *
+    *@param worker -- id of the worker to read from
+    */
+    private void startReader(final int worker) {
+    	Thread reader = new Thread(new Runnable() {
+    		public void run() {
+    			DataInputStream in = ins[worker];
+    			try {
+    				while(true) {
+    					int type = in.readByte();
+    					if(type == SlidingBlockWorker.GOAL) {
+    						int moves = in.readInt();
+    						events.add(new long[] {worker, type, moves, in.readLong()});
+    					}
+    					else if(type == SlidingBlockWorker.PROBEREPLY) {
+    						int wave = in.readInt();
+    						boolean idle = in.readBoolean();
+    						events.add(new long[] {worker, type, wave, idle ? 1 : 0, in.readLong(), in.readLong()});
+    					}
+    					else if(type == SlidingBlockWorker.STATS) {
+    						events.add(new long[] {worker, type, in.readLong(), in.readLong(), in.readLong()});
+    						break; //STATS is the last message a worker sends
+    					}
+    					else {
+    						throw new IOException("Unexpected message type " + type + " from worker " + worker + ".");
+    					}
+    				}
+    			}
+    			catch(IOException e) {
+    				events.add(new long[] {worker, DISCONNECTED});
+    			}
+    		}
+    	});
+    	reader.setDaemon(true);
+    	reader.start();
+    }
+
+   /**
+    *Method that starts a number of SlidingBlockWorker processes on this machine, running the same java, classpath and heuristic evaluator as this JVM, each connecting to the given port.
+    *
+    *@param workers -- number of processes to start
+    *@param port -- the coordinator's port on the loopback interface
+    *@param option -- extra argument for every worker, such as "offheap", or null
+    *@return List<Process> -- the started processes
+    *@throws IOException -- if a process can't be started
+    */
+    public static List<Process> startLocalWorkers(int workers, int port, String option) throws IOException {
+    	List<String> command = new ArrayList<String>();
+    	command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    	//give the workers the same incubator modules as this JVM
+    	for(String module : new String[] {"jdk.incubator.vector", "jdk.incubator.foreign"}) {
+    		if(ModuleLayer.boot().findModule(module).isPresent()) {
+    			command.add("--add-modules");
+    			command.add(module);
+    		}
+    	}
+    	//and the same choice of heuristic evaluator
+    	if(System.getProperty(SlidingBlockHeuristic.PROPERTY) != null) {
+    		command.add("-D" + SlidingBlockHeuristic.PROPERTY + "=" + System.getProperty(SlidingBlockHeuristic.PROPERTY));
+    	}
+    	command.add("-cp");
+    	command.add(System.getProperty("java.class.path"));
+    	command.add("SlidingBlockWorker");
+    	command.add(InetAddress.getLoopbackAddress().getHostAddress());
+    	command.add(Integer.toString(port));
+    	if(option != null) {
+    		command.add(option);
+    	}
+    	List<Process> processes = new ArrayList<Process>();
+    	for(int i = 0; i < workers; i++) {
+    		processes.add(new ProcessBuilder(command).inheritIO().start());
+    	}
+    	return processes;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+    	boolean local = (args.length == 10 || args.length == 11);
+    	if(!local && !(args.length == 12 && args[0].equals("coordinator"))) {
+    		System.out.println("Usage: java SlidingBlockDistributedSolver workers t0 ... t8 [offheap | offheap=directory]\n   or: java SlidingBlockDistributedSolver coordinator port workers t0 ... t8"
+    			+ "\n-Example: java SlidingBlockDistributedSolver 4 8 6 7 2 5 4 3 0 1");
+    		return;
+    	}
+    	int first = local ? 1 : 3; //index of the first tile
+    	int port = local ? 0 : Integer.parseInt(args[1]);
+    	int workers = Integer.parseInt(args[first - 1]);
+    	int startTiles[] = new int[9];
+    	for(int i = 0; i < 9; i++) {
+    		startTiles[i] = Integer.parseInt(args[first + i]);
+    	}
+    	if(workers < 1) {
+    		System.out.println("At least one worker is required.");
+    		return;
+    	}
+    	//the local workers get the same modules as this JVM, so checking the option here covers them too
+    	String problem = (args.length == 11) ? SlidingBlockOffHeapMemory.checkOption(args[10]) : null;
+    	if(problem != null) {
+    		System.out.println(problem);
+    		return;
+    	}
+
+    	//make sure a valid starting state was passed by the user, using the same checks as SlidingBlockPuzzle, but without building a solver.
+    	String check = SlidingBlockSolver.checkStartValidity(new BoardState(startTiles));
+    	if(!check.equals("pass")) {
+    		System.out.println("This starting configuration can't be searched (" + check + "). Please retry with a different initial configuration.");
+    		return;
+    	}
+
+    	SlidingBlockDistributedSolver coordinator = new SlidingBlockDistributedSolver(port, workers, startTiles);
+    	List<Process> processes = new ArrayList<Process>();
+    	if(local) {
+    		processes = startLocalWorkers(workers, coordinator.getPort(), (args.length == 11) ? args[10] : null);
+    	}
+    	else {
+    		System.out.println("Waiting for " + workers + " workers on port " + coordinator.getPort() + ".");
+    	}
+    	System.out.println("The search for the solution has commenced, over " + workers + " workers!");
+    	try {
+    		int moves = coordinator.solve(processes);
+    		if(moves < 0) {
+    			System.out.println("Every reachable configuration was checked without finding a goal state.");
+    		}
+    		else {
+    			System.out.println("Puzzle Solved! The shortest solution reaches a goal configuration in " + moves + " moves.");
+    		}
+    		long nodes[] = coordinator.getNodesStored();
+    		for(int i = 0; i < workers; i++) {
+    			System.out.println("Worker " + i + " stored " + nodes[i] + " nodes.");
+    		}
+    	}
+    	catch(IOException e) {
+    		System.out.println("The distributed search failed: " + e.getMessage());
+    	}
+    	finally {
+    		for(Process process : processes) {
+    			process.waitFor(5, TimeUnit.SECONDS);
+    			process.destroy();
+    		}
+    	}
+    }
+}
@@ -0,0 +1,285 @@
+/**
+ * @(#)SlidingBlockGenerator.java
+ * This class generates solvable starting configurations of the 8-Block puzzle at a requested difficulty, and streams them to a compact corpus file for SlidingBlockLoadTest.
+ * The difficulty of a configuration is its exact distance: the fewest moves needed to reach the nearer of the two goal states. The 8-Block puzzle is small enough (9! = 362880 arrangements)
+ * to measure every exact distance up front with one breadth first search outward from both goals. A configuration is then generated with a random walk that starts at a random goal,
+ * and at each step slides a random tile that takes it exactly one move further from the nearer goal, until it reaches the requested distance.
+ * Every configuration a walk reaches is, by construction, solvable and exactly as hard as requested.
+ *
+ * This class can be called on a command line like so:
+ *		java SlidingBlockGenerator corpusFile count depths [seed]
+ *		-Example: java SlidingBlockGenerator corpus.sbp 1000 10,20,25 42
+ *	which writes 1000 configurations at each of the distances 10, 20 and 25.
+ *
+ * A corpus file starts with the int MAGIC, followed by one 5 byte record per configuration: the exact distance as a byte, then the rank of the tile arrangement (see rank) as an int.
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+import java.io.*;
+import java.util.*;
+
+public class SlidingBlockGenerator {
+	public static final int MAGIC = 0x53425043; //"SBPC", the first 4 bytes of every corpus file
+	private static final int NUMARRANGEMENTS = 362880; //9!, the number of ways to arrange 9 tiles
+	private static final int FACTORIALS[] = {40320,5040,720,120,24,6,2,1,1}; //(8-i)!, the weight of position i's digit in a rank
+	private static final int UNREACHED = -1;
+	private static byte distances[]; //exact distance of every arrangement from the nearer goal, indexed by rank. Built on first use.
+	private static int maxDistance; //the largest exact distance of any solvable arrangement
+
+	private Random random; //source of every random choice the walks make
+	private int tiles[]; //the tiles of the walk in progress
+	private int candidates[]; //positions that can slide into the blank and take the walk one move further out
+
+   /**
+    *Constructor that creates a generator whose walks are driven by the given random number generator.
+    *
+    *@param rand -- source of randomness. Two generators built from Randoms with the same seed produce the same configurations.
+    *@return SlidingBlockGenerator
+    */
+    public SlidingBlockGenerator(Random rand) {
+    	random = rand;
+    	tiles = new int[9];
+    	candidates = new int[4];
+    	buildDistances();
+    }
+
+   /**
+    *Method that generates one solvable configuration at an exact distance from the nearer goal.
+    *
+    *@param depth -- the exact number of moves the configuration should need, between 1 and getMaxDistance()
+    *@return int[] -- the tiles of the new configuration
+    */
+    public int[] generate(int depth) {
+    	if(depth < 1 || depth > maxDistance) {
+    		throw new IllegalArgumentException("Depth must be between 1 and " + maxDistance + ", was " + depth);
+    	}
+    	while(true) {
+    		//start from a random goal
+    		BoardState.unpack(random.nextBoolean() ? BoardState.PACKEDZEROSTART : BoardState.PACKEDZEROEND, tiles);
+    		int blankPos = tiles[0] == 0 ? 0 : 8;
+    		int distance = 0;
+    		while(distance < depth) {
+    			int numCandidates = 0;
+    			for(int posFrom : BoardState.legalMoves(blankPos)) {
+    				swap(blankPos, posFrom);
+    				if(distances[rank(tiles)] == distance + 1) {
+    					candidates[numCandidates] = posFrom;
+    					numCandidates++;
+    				}
+    				swap(blankPos, posFrom); //undo the trial move
+    			}
+    			//a walk can run into an arrangement that is further out than all its neighbours. Start over from a goal when that happens.
+    			if(numCandidates == 0) {
+    				break;
+    			}
+    			int posFrom = candidates[random.nextInt(numCandidates)];
+    			swap(blankPos, posFrom);
+    			blankPos = posFrom;
+    			distance++;
+    		}
+    		if(distance == depth) {
+    			return tiles.clone();
+    		}
+    	}
+    }
+
+    //accessor for the largest exact distance any solvable configuration has, the hardest depth generate accepts
+    public static int getMaxDistance() {
+    	buildDistances();
+    	return maxDistance;
+    }
+
+   /**
+    *Method that returns the exact distance of a configuration from the nearer goal.
+    *
+    *@param arr -- the tiles of a configuration
+    *@return int -- the fewest moves to a goal, or -1 if the configuration is unsolvable
+    */
+    public static int exactDistance(int arr[]) {
+    	buildDistances();
+    	return distances[rank(arr)];
+    }
+
+   /**
+    *Private helper that swaps the tiles at two positions of the walk in progress.
+    *
+    *@param posA -- first position
+    *@param posB -- second position
+    */
+    private void swap(int posA, int posB) {
+    	int tile = tiles[posA];
+    	tiles[posA] = tiles[posB];
+    	tiles[posB] = tile;
+    }
+
+   /**
+    *Method that numbers every arrangement of the tiles 0 to 8 from 0 to 9!-1 (its Lehmer code), so arrangements can index a flat array.
+    *
+    *@param arr -- an array holding each of the tiles 0 to 8 once
+    *@return int -- the rank of the arrangement
+    */
+    public static int rank(int arr[]) {
+    	int rank = 0;
+    	for(int i = 0; i < 9; i++) {
+    		int smaller = 0; //tiles after position i that are smaller than the tile at i
+    		for(int j = i + 1; j < 9; j++) {
+    			if(arr[j] < arr[i]) {
+    				smaller++;
+    			}
+    		}
+    		rank += smaller * FACTORIALS[i];
+    	}
+    	return rank;
+    }
+
+   /**
+    *Method that reverses rank, writing the arrangement with a given rank into an array.
+    *
+    *@param rank -- a rank produced by the rank method
+    *@param into -- an array of at least 9 ints to fill with tiles
+    *@return int[] -- the array that was passed in, for convenience
+    */
+    public static int[] unrank(int rank, int into[]) {
+    	boolean used[] = new boolean[9];
+    	for(int i = 0; i < 9; i++) {
+    		int smaller = rank / FACTORIALS[i];
+    		rank %= FACTORIALS[i];
+    		//the tile at i is the unused tile with exactly 'smaller' unused tiles below it
+    		int tile = 0;
+    		while(used[tile] || smaller > 0) {
+    			if(!used[tile]) {
+    				smaller--;
+    			}
+    			tile++;
+    		}
+    		used[tile] = true;
+    		into[i] = tile;
+    	}
+    	return into;
+    }
+
+   /**
+    *Private helper that fills the distances table with a breadth first search that starts from both goal states at once. Arrangements it never reaches are unsolvable.
+    *It runs once per JVM, the first time any generator needs the table.
+    */
+    private static synchronized void buildDistances() {
+    	if(distances != null) {
+    		return;
+    	}
+    	byte table[] = new byte[NUMARRANGEMENTS];
+    	Arrays.fill(table, (byte)UNREACHED);
+    	int queue[] = new int[NUMARRANGEMENTS]; //ranks in the order they were reached
+    	int head = 0;
+    	int tail = 0;
+    	int arr[] = new int[9];
+    	for(long goal : new long[] {BoardState.PACKEDZEROSTART, BoardState.PACKEDZEROEND}) {
+    		int goalRank = rank(BoardState.unpack(goal, arr));
+    		table[goalRank] = 0;
+    		queue[tail++] = goalRank;
+    	}
+    	int deepest = 0;
+    	while(head < tail) {
+    		int current = queue[head++];
+    		int distance = table[current];
+    		unrank(current, arr);
+    		int blankPos = 0;
+    		while(arr[blankPos] != 0) {
+    			blankPos++;
+    		}
+    		for(int posFrom : BoardState.legalMoves(blankPos)) {
+    			arr[blankPos] = arr[posFrom];
+    			arr[posFrom] = 0;
+    			int next = rank(arr);
+    			if(table[next] == UNREACHED) {
+    				table[next] = (byte)(distance + 1);
+    				queue[tail++] = next;
+    				deepest = distance + 1;
+    			}
+    			arr[posFrom] = arr[blankPos]; //undo the move
+    			arr[blankPos] = 0;
+    		}
+    	}
+    	maxDistance = deepest;
+    	distances = table;
+    }
+
+   /**
+    *Method that reads every record of a corpus file.
+    *
+    *@param filename -- path of a corpus file written by this class
+    *@return int[][] -- two rows of equal length: the exact distance of every configuration, and the rank of every configuration
+    *@throws IOException -- if the file can't be read or isn't a corpus file
+    */
+    public static int[][] readCorpus(String filename) throws IOException {
+    	DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(filename)));
+    	try {
+    		if(in.readInt() != MAGIC) {
+    			throw new IOException(filename + " is not a sliding block corpus file.");
+    		}
+    		int depths[] = new int[1024];
+    		int ranks[] = new int[1024];
+    		int count = 0;
+    		while(true) {
+    			int depth = in.read();
+    			if(depth < 0) { //end of file
+    				break;
+    			}
+    			if(count == depths.length) {
+    				depths = Arrays.copyOf(depths, count * 2);
+    				ranks = Arrays.copyOf(ranks, count * 2);
+    			}
+    			depths[count] = depth;
+    			ranks[count] = in.readInt();
+    			count++;
+    		}
+    		return new int[][] {Arrays.copyOf(depths, count), Arrays.copyOf(ranks, count)};
+    	}
+    	finally {
+    		in.close();
+    	}
+    }
+
+    public static void main(String[] args) throws IOException {
+    	if(args.length < 3 || args.length > 4) {
+    		System.out.println("Usage: java SlidingBlockGenerator corpusFile count depths [seed]\n-Example: java SlidingBlockGenerator corpus.sbp 1000 10,20,25 42");
+    		return;
+    	}
+    	String filename = args[0];
+    	int count = Integer.parseInt(args[1]);
+    	if(count < 1) {
+    		System.out.println("The count must be at least 1. Please retry with a different count.");
+    		return;
+    	}
+    	String depthList[] = args[2].split(",");
+    	Random rand = (args.length == 4) ? new Random(Long.parseLong(args[3])) : new Random();
+
+    	SlidingBlockGenerator generator = new SlidingBlockGenerator(rand);
+    	int depths[] = new int[depthList.length];
+    	for(int i = 0; i < depthList.length; i++) {
+    		depths[i] = Integer.parseInt(depthList[i].trim());
+    		if(depths[i] < 1 || depths[i] > getMaxDistance()) {
+    			System.out.println("Every depth must be between 1 and " + getMaxDistance() + ". Please retry with different depths.");
+    			return;
+    		}
+    	}
+
+    	//stream the configurations to the file as they are generated
+    	DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename)));
+    	try {
+    		out.writeInt(MAGIC);
+    		for(int depth : depths) {
+    			for(int i = 0; i < count; i++) {
+    				out.writeByte(depth);
+    				out.writeInt(rank(generator.generate(depth)));
+    			}
+    		}
+    	}
+    	finally {
+    		out.close();
+    	}
+    	System.out.println("Wrote " + (count * depths.length) + " configurations to " + filename + ".");
+    }
+}
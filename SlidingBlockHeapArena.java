@@ -0,0 +1,109 @@
+/**
+ * @(#)SlidingBlockHeapArena.java
+ * This class is the SlidingBlockArena that keeps its nodes on the Java heap. Every node lives in a set of parallel primitive arrays, one each for the packed board, the number of moves,
+ * the heuristic value, the parent's handle and the last move, and a node's handle is simply its index in those arrays.
+ * The arrays grow in fixed size chunks, so adding a node never copies the nodes that are already stored. A node costs 18 bytes of arena storage.
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+import java.util.Arrays;
+
+public class SlidingBlockHeapArena extends SlidingBlockArena {
+	private static final int CHUNKSHIFT = 12; //each chunk holds 2^12 = 4096 nodes
+	private static final int CHUNKSIZE = 1 << CHUNKSHIFT;
+	private static final int CHUNKMASK = CHUNKSIZE - 1;
+
+	private long boards[][]; //packed board of each node
+	private int moves[][]; //number of moves made to reach each node
+	private byte heuristics[][]; //heuristic value of each node. The manhattan distance of a 3x3 board never exceeds 127, so a byte is enough.
+	private int parents[][]; //handle of each node's parent
+	private byte lastMoves[][]; //position the last move slid a tile into, which was the blank's position in the parent board
+	private int numChunks; //number of chunks allocated so far
+	private int size; //number of nodes stored
+
+   /**
+    *Constructor that creates an empty arena. No chunks are allocated until the first node is added.
+    *
+    *@return SlidingBlockHeapArena
+    */
+    public SlidingBlockHeapArena() {
+    	boards = new long[4][];
+    	moves = new int[4][];
+    	heuristics = new byte[4][];
+    	parents = new int[4][];
+    	lastMoves = new byte[4][];
+    	numChunks = 0;
+    	size = 0;
+    }
+
+    @Override
+    public int add(long board, int numMoves, int heuristic, int parent, int lastMove) {
+    	if(size == (numChunks << CHUNKSHIFT)) {
+    		addChunk();
+    	}
+    	int handle = size;
+    	int chunk = handle >>> CHUNKSHIFT;
+    	int offset = handle & CHUNKMASK;
+    	boards[chunk][offset] = board;
+    	moves[chunk][offset] = numMoves;
+    	heuristics[chunk][offset] = (byte)heuristic;
+    	parents[chunk][offset] = parent;
+    	lastMoves[chunk][offset] = (byte)lastMove;
+    	size++;
+    	return handle;
+    }
+
+   /**
+    *Private helper that allocates one more chunk for every array. Only the small arrays of chunk references are ever copied, never the nodes themselves.
+    */
+    private void addChunk() {
+    	if(numChunks == boards.length) {
+    		int newLength = boards.length * 2;
+    		boards = Arrays.copyOf(boards, newLength);
+    		moves = Arrays.copyOf(moves, newLength);
+    		heuristics = Arrays.copyOf(heuristics, newLength);
+    		parents = Arrays.copyOf(parents, newLength);
+    		lastMoves = Arrays.copyOf(lastMoves, newLength);
+    	}
+    	boards[numChunks] = new long[CHUNKSIZE];
+    	moves[numChunks] = new int[CHUNKSIZE];
+    	heuristics[numChunks] = new byte[CHUNKSIZE];
+    	parents[numChunks] = new int[CHUNKSIZE];
+    	lastMoves[numChunks] = new byte[CHUNKSIZE];
+    	numChunks++;
+    }
+
+    @Override
+    public long getBoard(int handle) {
+    	return boards[handle >>> CHUNKSHIFT][handle & CHUNKMASK];
+    }
+
+    @Override
+    public int getMoves(int handle) {
+    	return moves[handle >>> CHUNKSHIFT][handle & CHUNKMASK];
+    }
+
+    @Override
+    public int getHeuristic(int handle) {
+    	return heuristics[handle >>> CHUNKSHIFT][handle & CHUNKMASK];
+    }
+
+    @Override
+    public int getParent(int handle) {
+    	return parents[handle >>> CHUNKSHIFT][handle & CHUNKMASK];
+    }
+
+    @Override
+    public int getLastMove(int handle) {
+    	return lastMoves[handle >>> CHUNKSHIFT][handle & CHUNKMASK];
+    }
+
+    @Override
+    public int size() {
+    	return size;
+    }
+
+}
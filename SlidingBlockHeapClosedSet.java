@@ -0,0 +1,102 @@
+/**
+ * @(#)SlidingBlockHeapClosedSet.java
+ * This class is the SlidingBlockClosedSet that keeps its hash table on the Java heap, as an array of node handles.
+ * The table uses linear probing, and doubles whenever it becomes half full.
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+import java.util.Arrays;
+
+public class SlidingBlockHeapClosedSet extends SlidingBlockClosedSet {
+	private SlidingBlockArena nodes; //the arena holding the board of every handle in the table
+	private int handles[]; //arena handles, placed by the hash of their node's board
+	private int size; //number of boards stored
+
+   /**
+    *Constructor that creates an empty set with room for a given number of boards before it has to grow.
+    *
+    *@param arena -- the arena the handles added to the set refer to
+    *@param capacity -- expected number of boards
+    *@return SlidingBlockHeapClosedSet
+    */
+    public SlidingBlockHeapClosedSet(SlidingBlockArena arena, int capacity) {
+    	nodes = arena;
+    	int slots = 16;
+    	while(slots < capacity * 2) {
+    		slots <<= 1;
+    	}
+    	handles = new int[slots];
+    	Arrays.fill(handles, EMPTY);
+    	size = 0;
+    }
+
+    @Override
+    public int get(long board) {
+    	int mask = handles.length - 1;
+    	for(int slot = hash(board) & mask; handles[slot] != EMPTY; slot = (slot + 1) & mask) {
+    		if(nodes.getBoard(handles[slot]) == board) {
+    			return handles[slot];
+    		}
+    	}
+    	return NOT_FOUND;
+    }
+
+    @Override
+    public boolean add(long board, int handle) {
+    	if((size + 1) * 2 > handles.length) {
+    		rehash(handles.length * 2);
+    	}
+    	int mask = handles.length - 1;
+    	int slot = hash(board) & mask;
+    	while(handles[slot] != EMPTY) {
+    		if(nodes.getBoard(handles[slot]) == board) {
+    			return false;
+    		}
+    		slot = (slot + 1) & mask;
+    	}
+    	handles[slot] = handle;
+    	size++;
+    	return true;
+    }
+
+    @Override
+    public boolean replace(long board, int handle) {
+    	int mask = handles.length - 1;
+    	for(int slot = hash(board) & mask; handles[slot] != EMPTY; slot = (slot + 1) & mask) {
+    		if(nodes.getBoard(handles[slot]) == board) {
+    			handles[slot] = handle;
+    			return true;
+    		}
+    	}
+    	return false;
+    }
+
+   /**
+    *Private helper that moves every handle into a new array with the given number of slots, rehashing the boards it reads from the arena.
+    *
+    *@param slots -- new table size, a power of two
+    */
+    private void rehash(int slots) {
+    	int oldHandles[] = handles;
+    	handles = new int[slots];
+    	Arrays.fill(handles, EMPTY);
+    	int mask = slots - 1;
+    	for(int i = 0; i < oldHandles.length; i++) {
+    		if(oldHandles[i] != EMPTY) {
+    			int slot = hash(nodes.getBoard(oldHandles[i])) & mask;
+    			while(handles[slot] != EMPTY) {
+    				slot = (slot + 1) & mask;
+    			}
+    			handles[slot] = oldHandles[i];
+    		}
+    	}
+    }
+
+    @Override
+    public int size() {
+    	return size;
+    }
+}
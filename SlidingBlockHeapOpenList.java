@@ -0,0 +1,91 @@
+/**
+ * @(#)SlidingBlockHeapOpenList.java
+ * This class is the SlidingBlockOpenList that keeps its handles on the Java heap, in a binary min-heap of longs. Each entry packs a node's priority into the high 32 bits and its handle into the low 32 bits,
+ * so entries are ordered by priority first, and nodes with equal priorities come out in the order they were added.
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+import java.util.Arrays;
+
+public class SlidingBlockHeapOpenList extends SlidingBlockOpenList {
+	private long heap[]; //heap ordered entries, see the class comment
+	private int size; //number of entries in the heap
+
+   /**
+    *Constructor that creates an empty open list with room for a given number of handles before it has to grow.
+    *
+    *@param capacity -- initial number of handles the list can hold
+    *@return SlidingBlockHeapOpenList
+    */
+    public SlidingBlockHeapOpenList(int capacity) {
+    	heap = new long[Math.max(capacity, 1)];
+    	size = 0;
+    }
+
+    @Override
+    public void offer(int handle, int priority) {
+    	if(size == heap.length) {
+    		heap = Arrays.copyOf(heap, heap.length * 2);
+    	}
+    	long entry = (((long)priority) << 32) | (handle & 0xFFFFFFFFL);
+    	//sift the new entry up from the bottom of the heap
+    	int pos = size;
+    	while(pos > 0) {
+    		int parent = (pos - 1) >>> 1;
+    		if(heap[parent] <= entry) {
+    			break;
+    		}
+    		heap[pos] = heap[parent];
+    		pos = parent;
+    	}
+    	heap[pos] = entry;
+    	size++;
+    }
+
+    @Override
+    public int poll() {
+    	if(size == 0) {
+    		return -1;
+    	}
+    	int handle = (int)heap[0];
+    	size--;
+    	long last = heap[size];
+    	//sift the last entry down from the top of the heap
+    	int pos = 0;
+    	int half = size >>> 1;
+    	while(pos < half) {
+    		int child = (pos << 1) + 1;
+    		if(child + 1 < size && heap[child + 1] < heap[child]) {
+    			child++;
+    		}
+    		if(last <= heap[child]) {
+    			break;
+    		}
+    		heap[pos] = heap[child];
+    		pos = child;
+    	}
+    	heap[pos] = last;
+    	return handle;
+    }
+
+    @Override
+    public int peek() {
+    	if(size == 0) {
+    		return -1;
+    	}
+    	return (int)heap[0];
+    }
+
+    @Override
+    public int handleAt(int index) {
+    	return (int)heap[index];
+    }
+
+    @Override
+    public int size() {
+    	return size;
+    }
+}
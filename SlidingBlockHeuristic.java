@@ -0,0 +1,103 @@
+/**
+ * @(#)SlidingBlockHeuristic.java
+ * This class evaluates the heuristic function for whole batches of packed boards at once, such as every board generated by one expansion of the SlidingBlockSolver.
+ * It returns exactly what BoardState.manhattanDistance would, but reads it from two precomputed distance tables, one per goal state, instead of recomputing the distance of every tile.
+ * Each table holds the distance of a tile value from its goal position when it sits at a given position, indexed by (position * 16 + tile) so that a 4 bit nibble of a packed board indexes it directly.
+ *
+ * This class is the scalar evaluator, and the one create hands out unless another is asked for. SlidingBlockVectorHeuristic scores several boards at once in SIMD lanes,
+ * but on boards this small the scalar loop is hard to beat, so it is opt-in: run java with --add-modules jdk.incubator.vector and -Dslidingblock.heuristic=vector to use it.
+ * The choice is made once, when this class loads, and is the same for every search in the JVM.
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+import java.lang.reflect.Constructor;
+
+public class SlidingBlockHeuristic {
+	private static final int TABLESIZE = 9 * 16; //9 positions, 16 possible nibble values
+	private static final int ZEROSTARTDISTANCE[] = new int[TABLESIZE]; //tile distances from the SOLVEDZEROSTART goal
+	private static final int ZEROENDDISTANCE[] = new int[TABLESIZE]; //tile distances from the SOLVEDZEROEND goal
+	public static final String PROPERTY = "slidingblock.heuristic"; //system property naming the evaluator create hands out, "scalar" (the default) or "vector"
+	private static final Constructor<?> VECTOREVALUATOR = findVectorEvaluator(); //constructor of SlidingBlockVectorHeuristic, null unless it was asked for and can be used
+
+	//fill the tables using the same per-tile distances as BoardState.manhattanDistance. The blank doesn't factor in to the calculation.
+	static {
+		for(int pos = 0; pos < 9; pos++) {
+			for(int tile = 1; tile < 16; tile++) {
+				ZEROSTARTDISTANCE[pos * 16 + tile] = Math.abs(pos - tile); //in SOLVEDZEROSTART a tile's goal position is its own value
+				ZEROENDDISTANCE[pos * 16 + tile] = Math.abs((pos + 1) - tile); //in SOLVEDZEROEND a tile's goal position is one less than its value
+			}
+		}
+	}
+
+   /**
+    *Constructor for the scalar evaluator. Use create to get the evaluator the JVM was asked to use.
+    *
+    *@return SlidingBlockHeuristic
+    */
+    protected SlidingBlockHeuristic() {
+    }
+
+   /**
+    *Method that returns the evaluator named by the slidingblock.heuristic system property. The vector evaluator is only loaded by name, after checking that its module was resolved,
+    *so this class still loads and works on a JVM started without --add-modules jdk.incubator.vector.
+    *
+    *@return SlidingBlockHeuristic -- a SlidingBlockVectorHeuristic if the property is "vector" and the vector module is available, a scalar SlidingBlockHeuristic otherwise
+    */
+    public static SlidingBlockHeuristic create() {
+    	if(VECTOREVALUATOR != null) {
+    		try {
+    			return (SlidingBlockHeuristic)VECTOREVALUATOR.newInstance();
+    		}
+    		catch(ReflectiveOperationException | LinkageError e) {
+    			//the vector evaluator couldn't be created, use the scalar one
+    		}
+    	}
+    	return new SlidingBlockHeuristic();
+    }
+
+   /**
+    *Private helper that looks up the vector evaluator's constructor once per JVM, if the slidingblock.heuristic property asks for it, so create stays cheap for callers that build many solvers.
+    *
+    *@return Constructor -- SlidingBlockVectorHeuristic's constructor, or null if it wasn't asked for or the vector module isn't available
+    */
+    private static Constructor<?> findVectorEvaluator() {
+    	if("vector".equals(System.getProperty(PROPERTY)) && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+    		try {
+    			return Class.forName("SlidingBlockVectorHeuristic").getDeclaredConstructor();
+    		}
+    		catch(ReflectiveOperationException | LinkageError e) {
+    			//the vector evaluator couldn't be loaded, create will use the scalar one
+    		}
+    	}
+    	return null;
+    }
+
+   /**
+    *Method that evaluates the heuristic function for a batch of packed boards, one board at a time.
+    *
+    *@param boards -- packed boards to evaluate
+    *@param count -- number of boards, starting at index 0, to evaluate
+    *@param heuristics -- array receiving the heuristic value of each board, at the same index as the board
+    */
+    public void evaluate(long boards[], int count, int heuristics[]) {
+    	for(int i = 0; i < count; i++) {
+    		long board = boards[i];
+    		int total1 = 0; //distance to SOLVEDZEROSTART
+    		int total2 = 0; //distance to SOLVEDZEROEND
+    		for(int pos = 0; pos < 9; pos++) {
+    			int index = pos * 16 + (int)((board >>> (4 * pos)) & 0xF);
+    			total1 += ZEROSTARTDISTANCE[index];
+    			total2 += ZEROENDDISTANCE[index];
+    		}
+    		heuristics[i] = Math.min(total1, total2);
+    	}
+    }
+
+    //returns a short description of the evaluator, for reporting which one is in use
+    public String toString() {
+    	return "scalar";
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * @(#)SlidingBlockLoadTest.java
+ * This class replays a corpus file written by SlidingBlockGenerator against the SlidingBlockSolver, with a configurable number of searches running at once, and reports
+ * the throughput and latency percentiles of the searches, overall and for each exact depth in the corpus. Every configuration gets its own SlidingBlockSolver, and is solved quietly with the solve method.
+ * The latency of a search covers building its solver and solving, but not the time it spent waiting for a free thread.
+ * No search can reach a goal in fewer moves than its configuration's exact depth, so a search that does means the corpus doesn't match the solver, and the run is stopped.
+ *
+ * This class can be called on a command line like so:
+ *		java SlidingBlockLoadTest corpusFile [concurrency] [passes] [warmupPasses] [offheap | offheap=directory]
+ *		-Example: java SlidingBlockLoadTest corpus.sbp 8 3 1
+ *	concurrency defaults to the number of available processors, passes to 1 and warmupPasses to 1. Warmup passes give the JIT compiler time to compile the solver, and aren't measured.
+ *	The off-heap option gives every search its own SlidingBlockOffHeapMemory, freed when the search ends.
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class SlidingBlockLoadTest {
+
+   /**
+    *Method that solves every configuration of a corpus a number of times, spread over a pool of threads.
+    *
+    *@param depths -- the exact depth of every configuration
+    *@param ranks -- the rank (see SlidingBlockGenerator.rank) of every configuration
+    *@param pool -- the threads to run the searches on
+    *@param passes -- number of times to solve every configuration
+    *@param latencies -- array of at least ranks.length * passes longs receiving the latency of each search, in nanoseconds
+    *@param nodes -- array of at least ranks.length * passes longs receiving the number of nodes each search generated
+    *@param option -- "offheap" or "offheap=directory" to run every search off the heap, or null to keep them on the heap
+    *@return long -- wall clock time the whole run took, in nanoseconds
+    *@throws IllegalStateException -- if a search found no goal, or found one in fewer moves than its configuration's exact depth
+    */
+    public static long run(int depths[], final int ranks[], ExecutorService pool, int passes, final long latencies[], final long nodes[], final String option) throws InterruptedException, ExecutionException {
+    	List<Callable<Integer>> searches = new ArrayList<Callable<Integer>>(ranks.length * passes);
+    	for(int pass = 0; pass < passes; pass++) {
+    		for(int i = 0; i < ranks.length; i++) {
+    			final int rank = ranks[i];
+    			final int index = pass * ranks.length + i;
+    			searches.add(new Callable<Integer>() {
+    				public Integer call() {
+    					long start = System.nanoTime();
+    					SlidingBlockOffHeapMemory memory = (option == null) ? null : SlidingBlockOffHeapMemory.forOption(option);
+    					try {
+    						SlidingBlockSolver solver = new SlidingBlockSolver(new SlidingBlockState(SlidingBlockGenerator.unrank(rank, new int[9])), memory);
+    						int moves = solver.solve();
+    						nodes[index] = solver.getNodesGenerated();
+    						return moves;
+    					}
+    					finally {
+    						if(memory != null) {
+    							memory.close();
+    						}
+    						latencies[index] = System.nanoTime() - start;
+    					}
+    				}
+    			});
+    		}
+    	}
+    	long start = System.nanoTime();
+    	List<Future<Integer>> results = pool.invokeAll(searches);
+    	long elapsed = System.nanoTime() - start;
+    	//make sure every search found a goal no closer than the corpus says it is, and rethrow anything a search threw
+    	for(int j = 0; j < results.size(); j++) {
+    		int moves = results.get(j).get();
+    		int depth = depths[j % ranks.length];
+    		if(moves < depth) {
+    			throw new IllegalStateException("The configuration with rank " + ranks[j % ranks.length] + " has an exact depth of " + depth + ", but its search "
+    				+ ((moves < 0) ? "found no goal." : "reached a goal in " + moves + " moves."));
+    		}
+    	}
+    	return elapsed;
+    }
+
+   /**
+    *Method that returns a percentile of a sorted array, using the nearest rank method.
+    *
+    *@param sorted -- values in ascending order
+    *@param percentile -- the percentile to find, between 0 and 100
+    *@return long -- the smallest value that is at least as large as percentile percent of the values
+    */
+    public static long percentile(long sorted[], double percentile) {
+    	int rank = (int)Math.ceil(percentile / 100.0 * sorted.length);
+    	return sorted[Math.max(rank, 1) - 1];
+    }
+
+    //formats a duration in nanoseconds as milliseconds
+    private static String millis(long nanos) {
+    	return String.format("%.3f ms", nanos / 1e6);
+    }
+
+    //formats the latency percentiles of a sorted array of latencies
+    private static String percentiles(long sorted[]) {
+    	return "p50: " + millis(percentile(sorted, 50)) + ", p99: " + millis(percentile(sorted, 99)) + ", p999: " + millis(percentile(sorted, 99.9))
+    		+ ", max: " + millis(sorted[sorted.length - 1]);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+    	if(args.length < 1 || args.length > 5) {
+    		System.out.println("Usage: java SlidingBlockLoadTest corpusFile [concurrency] [passes] [warmupPasses] [offheap | offheap=directory]\n-Example: java SlidingBlockLoadTest corpus.sbp 8 3 1");
+    		return;
+    	}
+    	String option = (args.length > 4) ? args[4] : null;
+    	String problem = (option != null) ? SlidingBlockOffHeapMemory.checkOption(option) : null;
+    	if(problem != null) {
+    		System.out.println(problem);
+    		return;
+    	}
+    	int corpus[][] = SlidingBlockGenerator.readCorpus(args[0]);
+    	int depths[] = corpus[0];
+    	int ranks[] = corpus[1];
+    	int concurrency = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+    	int passes = (args.length > 2) ? Integer.parseInt(args[2]) : 1;
+    	int warmupPasses = (args.length > 3) ? Integer.parseInt(args[3]) : 1;
+    	if(ranks.length == 0 || concurrency < 1 || passes < 1 || warmupPasses < 0) {
+    		System.out.println("The corpus must not be empty, concurrency and passes must be at least 1, and warmupPasses can't be negative.");
+    		return;
+    	}
+
+    	System.out.println("Replaying " + ranks.length + " configurations, " + passes + " times, with " + concurrency + " searches at once" + ((option == null) ? "." : ", off the heap."));
+    	System.out.println("Using the " + SlidingBlockHeuristic.create() + " heuristic evaluator.");
+    	ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+    	try {
+    		if(warmupPasses > 0) {
+    			run(depths, ranks, pool, warmupPasses, new long[ranks.length * warmupPasses], new long[ranks.length * warmupPasses], option);
+    		}
+    		long latencies[] = new long[ranks.length * passes];
+    		long nodes[] = new long[ranks.length * passes];
+    		long elapsed = run(depths, ranks, pool, passes, latencies, nodes, option);
+
+    		long totalNodes = 0;
+    		for(long n : nodes) {
+    			totalNodes += n;
+    		}
+    		double seconds = elapsed / 1e9;
+    		System.out.println(String.format("Throughput: %.1f searches/s, %.0f nodes/s", latencies.length / seconds, totalNodes / seconds));
+    		long sorted[] = latencies.clone();
+    		Arrays.sort(sorted);
+    		System.out.println("Latency " + percentiles(sorted));
+
+    		//the same percentiles for the searches of each depth. Search j solved configuration j % ranks.length.
+    		int maxDepth = 0;
+    		for(int depth : depths) {
+    			maxDepth = Math.max(maxDepth, depth);
+    		}
+    		for(int depth = 1; depth <= maxDepth; depth++) {
+    			long byDepth[] = new long[latencies.length];
+    			int count = 0;
+    			for(int j = 0; j < latencies.length; j++) {
+    				if(depths[j % ranks.length] == depth) {
+    					byDepth[count] = latencies[j];
+    					count++;
+    				}
+    			}
+    			if(count > 0) {
+    				byDepth = Arrays.copyOf(byDepth, count);
+    				Arrays.sort(byDepth);
+    				System.out.println("Depth " + depth + " (" + count + " searches) latency " + percentiles(byDepth));
+    			}
+    		}
+    	}
+    	finally {
+    		pool.shutdown();
+    	}
+    }
+}
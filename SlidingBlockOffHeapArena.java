@@ -0,0 +1,94 @@
+/**
+ * @(#)SlidingBlockOffHeapArena.java
+ * This class is a SlidingBlockArena that keeps its nodes outside the Java heap, in blocks from a SlidingBlockOffHeapMemory.
+ * A node is a 24 byte record: the packed board (long, at offset 0), the number of moves (int, 8), the parent's handle (int, 12), the heuristic value (byte, 16) and the last move (byte, 17).
+ * Records are grouped in chunks of 2^16 nodes, one block per chunk, so adding a node never copies the nodes already stored. The heap only holds the array of chunk references.
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+import java.util.Arrays;
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+
+public class SlidingBlockOffHeapArena extends SlidingBlockArena {
+	private static final int CHUNKSHIFT = 16; //each chunk holds 2^16 = 65536 nodes
+	private static final int CHUNKSIZE = 1 << CHUNKSHIFT;
+	private static final int CHUNKMASK = CHUNKSIZE - 1;
+	private static final long NODESIZE = 24; //bytes per node record
+	private static final long MOVESOFFSET = 8;
+	private static final long PARENTOFFSET = 12;
+	private static final long HEURISTICOFFSET = 16;
+	private static final long LASTMOVEOFFSET = 17;
+
+	private SlidingBlockOffHeapMemory memory; //where the chunks come from
+	private MemorySegment chunks[]; //one block per chunk
+	private int numChunks;
+	private int size;
+
+   /**
+    *Constructor that creates an empty off-heap arena. No chunks are allocated until the first node is added.
+    *
+    *@param mem -- the allocator to take chunks from
+    *@return SlidingBlockOffHeapArena
+    */
+    public SlidingBlockOffHeapArena(SlidingBlockOffHeapMemory mem) {
+    	memory = mem;
+    	chunks = new MemorySegment[4];
+    	numChunks = 0;
+    	size = 0;
+    }
+
+    @Override
+    public int add(long board, int numMoves, int heuristic, int parent, int lastMove) {
+    	if(size == (numChunks << CHUNKSHIFT)) {
+    		if(numChunks == chunks.length) {
+    			chunks = Arrays.copyOf(chunks, chunks.length * 2);
+    		}
+    		chunks[numChunks] = memory.allocate(CHUNKSIZE * NODESIZE);
+    		numChunks++;
+    	}
+    	int handle = size;
+    	MemorySegment chunk = chunks[handle >>> CHUNKSHIFT];
+    	long offset = (handle & CHUNKMASK) * NODESIZE;
+    	MemoryAccess.setLongAtOffset(chunk, offset, board);
+    	MemoryAccess.setIntAtOffset(chunk, offset + MOVESOFFSET, numMoves);
+    	MemoryAccess.setIntAtOffset(chunk, offset + PARENTOFFSET, parent);
+    	MemoryAccess.setByteAtOffset(chunk, offset + HEURISTICOFFSET, (byte)heuristic);
+    	MemoryAccess.setByteAtOffset(chunk, offset + LASTMOVEOFFSET, (byte)lastMove);
+    	size++;
+    	return handle;
+    }
+
+    @Override
+    public long getBoard(int handle) {
+    	return MemoryAccess.getLongAtOffset(chunks[handle >>> CHUNKSHIFT], (handle & CHUNKMASK) * NODESIZE);
+    }
+
+    @Override
+    public int getMoves(int handle) {
+    	return MemoryAccess.getIntAtOffset(chunks[handle >>> CHUNKSHIFT], (handle & CHUNKMASK) * NODESIZE + MOVESOFFSET);
+    }
+
+    @Override
+    public int getHeuristic(int handle) {
+    	return MemoryAccess.getByteAtOffset(chunks[handle >>> CHUNKSHIFT], (handle & CHUNKMASK) * NODESIZE + HEURISTICOFFSET);
+    }
+
+    @Override
+    public int getParent(int handle) {
+    	return MemoryAccess.getIntAtOffset(chunks[handle >>> CHUNKSHIFT], (handle & CHUNKMASK) * NODESIZE + PARENTOFFSET);
+    }
+
+    @Override
+    public int getLastMove(int handle) {
+    	return MemoryAccess.getByteAtOffset(chunks[handle >>> CHUNKSHIFT], (handle & CHUNKMASK) * NODESIZE + LASTMOVEOFFSET);
+    }
+
+    @Override
+    public int size() {
+    	return size;
+    }
+}
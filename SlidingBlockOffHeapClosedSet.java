@@ -0,0 +1,130 @@
+/**
+ * @(#)SlidingBlockOffHeapClosedSet.java
+ * This class is a SlidingBlockClosedSet that keeps its hash table outside the Java heap, in a block from a SlidingBlockOffHeapMemory.
+ * The table is open-addressing with linear probing, like SlidingBlockHeapClosedSet, and each slot is likewise just a 4 byte arena handle, with boards compared by reading them back out of the arena.
+ * The table doubles whenever it becomes half full, and the old block is freed as soon as its handles have been moved.
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+
+public class SlidingBlockOffHeapClosedSet extends SlidingBlockClosedSet {
+	private static final long SLOTSIZE = 4; //bytes per slot
+
+	private SlidingBlockOffHeapMemory memory; //where the table comes from
+	private SlidingBlockArena nodes; //the arena holding the board of every handle in the table
+	private MemorySegment table;
+	private long slots; //number of slots in the table, a power of two
+	private int size;
+
+   /**
+    *Constructor that creates an empty off-heap set with room for a given number of boards before it has to grow.
+    *
+    *@param mem -- the allocator to take the table from
+    *@param arena -- the arena the handles added to the set refer to
+    *@param capacity -- expected number of boards
+    *@return SlidingBlockOffHeapClosedSet
+    */
+    public SlidingBlockOffHeapClosedSet(SlidingBlockOffHeapMemory mem, SlidingBlockArena arena, int capacity) {
+    	memory = mem;
+    	nodes = arena;
+    	long numSlots = 16;
+    	while(numSlots < capacity * 2L) {
+    		numSlots <<= 1;
+    	}
+    	table = newTable(numSlots);
+    	slots = numSlots;
+    	size = 0;
+    }
+
+    //allocates a table with every slot EMPTY. Since EMPTY is all ones, so is every byte.
+    private MemorySegment newTable(long numSlots) {
+    	MemorySegment segment = memory.allocate(numSlots * SLOTSIZE);
+    	segment.fill((byte)0xFF);
+    	return segment;
+    }
+
+    @Override
+    public int get(long board) {
+    	long mask = slots - 1;
+    	for(long slot = hash(board) & mask; ; slot = (slot + 1) & mask) {
+    		int handle = MemoryAccess.getIntAtOffset(table, slot * SLOTSIZE);
+    		if(handle == EMPTY) {
+    			return NOT_FOUND;
+    		}
+    		if(nodes.getBoard(handle) == board) {
+    			return handle;
+    		}
+    	}
+    }
+
+    @Override
+    public boolean add(long board, int handle) {
+    	if((size + 1) * 2L > slots) {
+    		rehash(slots * 2);
+    	}
+    	long mask = slots - 1;
+    	long slot = hash(board) & mask;
+    	while(true) {
+    		int stored = MemoryAccess.getIntAtOffset(table, slot * SLOTSIZE);
+    		if(stored == EMPTY) {
+    			break;
+    		}
+    		if(nodes.getBoard(stored) == board) {
+    			return false;
+    		}
+    		slot = (slot + 1) & mask;
+    	}
+    	MemoryAccess.setIntAtOffset(table, slot * SLOTSIZE, handle);
+    	size++;
+    	return true;
+    }
+
+    @Override
+    public boolean replace(long board, int handle) {
+    	long mask = slots - 1;
+    	for(long slot = hash(board) & mask; ; slot = (slot + 1) & mask) {
+    		int stored = MemoryAccess.getIntAtOffset(table, slot * SLOTSIZE);
+    		if(stored == EMPTY) {
+    			return false;
+    		}
+    		if(nodes.getBoard(stored) == board) {
+    			MemoryAccess.setIntAtOffset(table, slot * SLOTSIZE, handle);
+    			return true;
+    		}
+    	}
+    }
+
+   /**
+    *Private helper that moves every handle into a new table with the given number of slots, rehashing the boards it reads from the arena, and frees the old one.
+    *
+    *@param numSlots -- new table size, a power of two
+    */
+    private void rehash(long numSlots) {
+    	MemorySegment oldTable = table;
+    	long oldSlots = slots;
+    	table = newTable(numSlots);
+    	slots = numSlots;
+    	long mask = numSlots - 1;
+    	for(long i = 0; i < oldSlots; i++) {
+    		int handle = MemoryAccess.getIntAtOffset(oldTable, i * SLOTSIZE);
+    		if(handle != EMPTY) {
+    			long slot = hash(nodes.getBoard(handle)) & mask;
+    			while(MemoryAccess.getIntAtOffset(table, slot * SLOTSIZE) != EMPTY) {
+    				slot = (slot + 1) & mask;
+    			}
+    			MemoryAccess.setIntAtOffset(table, slot * SLOTSIZE, handle);
+    		}
+    	}
+    	memory.free(oldTable);
+    }
+
+    @Override
+    public int size() {
+    	return size;
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * @(#)SlidingBlockOffHeapMemory.java
+ * This class hands out blocks of memory outside the Java heap for the off-heap search structures (SlidingBlockOffHeapArena, SlidingBlockOffHeapOpenList and SlidingBlockOffHeapClosedSet),
+ * using the incubating Foreign Memory API. Every block is a MemorySegment with its own ResourceScope, so a structure that outgrows a block, like a closed set that rehashes, can free the old one straight away.
+ * Closing the SlidingBlockOffHeapMemory frees every block it handed out that is still live. The allocator belongs to whoever created it, who closes it in a finally block once every
+ * structure using it is done with; the structures and the SlidingBlockSolver never free anything they don't replace themselves.
+ *
+ * Blocks are either plain native memory, or, when a directory is given, memory mapped files in that directory. Mapped blocks are paged by the operating system,
+ * so a search can hold more than the machine's RAM. Each file is deleted as soon as it's mapped, so nothing is left behind, even if the JVM dies.
+ *
+ * The heap only ever holds the small objects describing each block, so its footprint stays nearly constant however large the search grows, and the garbage collector never has to scan the nodes.
+ * Compiling and running this class requires --add-modules jdk.incubator.foreign.
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+public class SlidingBlockOffHeapMemory {
+	private Path directory; //directory for mapped files, or null for native memory
+	private Set<ResourceScope> scopes; //the scope of every live block
+
+   /**
+    *Constructor that creates an allocator for native memory.
+    *
+    *@return SlidingBlockOffHeapMemory
+    */
+    public SlidingBlockOffHeapMemory() {
+    	this(null);
+    }
+
+   /**
+    *Constructor that creates an allocator backed by memory mapped files.
+    *
+    *@param dir -- the directory to create the files in, or null for native memory
+    *@return SlidingBlockOffHeapMemory
+    */
+    public SlidingBlockOffHeapMemory(Path dir) {
+    	directory = dir;
+    	scopes = new HashSet<ResourceScope>();
+    }
+
+   /**
+    *Method that turns a command line option into an allocator. "offheap" means native memory, and "offheap=directory" means memory mapped files in that directory.
+    *
+    *@param option -- the option as typed
+    *@return SlidingBlockOffHeapMemory -- a new allocator, or null if the option isn't an off-heap option
+    */
+    public static SlidingBlockOffHeapMemory forOption(String option) {
+    	if(option.equals("offheap")) {
+    		return new SlidingBlockOffHeapMemory();
+    	}
+    	if(option.startsWith("offheap=")) {
+    		return new SlidingBlockOffHeapMemory(Paths.get(option.substring("offheap=".length())));
+    	}
+    	return null;
+    }
+
+   /**
+    *Method that checks a command line option before anything is allocated, so a bad option gets a message instead of an error part way through a search.
+    *It never touches the Foreign Memory API, so it can be called even when the jdk.incubator.foreign module is missing, which is one of the things it checks for.
+    *
+    *@param option -- the option as typed
+    *@return String -- what is wrong with the option, or null if forOption accepts it and this JVM can run the off-heap structures
+    */
+    public static String checkOption(String option) {
+    	if(!option.equals("offheap") && !option.startsWith("offheap=")) {
+    		return "Unknown option " + option + ". The only option is offheap or offheap=directory.";
+    	}
+    	if(!ModuleLayer.boot().findModule("jdk.incubator.foreign").isPresent()) {
+    		return "The " + option + " option needs the jdk.incubator.foreign module. Run java with --add-modules jdk.incubator.foreign to use it.";
+    	}
+    	if(option.startsWith("offheap=")) {
+    		String dir = option.substring("offheap=".length());
+    		try {
+    			if(!Files.isDirectory(Paths.get(dir))) {
+    				return "The directory " + dir + " given to the offheap option does not exist.";
+    			}
+    		}
+    		catch(InvalidPathException e) {
+    			return "The directory " + dir + " given to the offheap option is not a valid path.";
+    		}
+    	}
+    	return null;
+    }
+
+   /**
+    *Method that allocates a new zero filled block.
+    *
+    *@param bytes -- size of the block
+    *@return MemorySegment -- the new block
+    *@throws UncheckedIOException -- if a mapped file can't be created
+    */
+    public synchronized MemorySegment allocate(long bytes) {
+    	ResourceScope scope = ResourceScope.newSharedScope();
+    	MemorySegment segment;
+    	try {
+    		if(directory == null) {
+    			segment = MemorySegment.allocateNative(bytes, 8, scope);
+    		}
+    		else {
+    			Path file = Files.createTempFile(directory, "sliding-block-", ".mem");
+    			try {
+    				try(RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+    					raf.setLength(bytes); //a new file is sparse, so it reads as zeroes
+    				}
+    				segment = MemorySegment.mapFile(file, 0, bytes, FileChannel.MapMode.READ_WRITE, scope);
+    			}
+    			finally {
+    				Files.delete(file); //the mapping stays valid after the file's name is gone
+    			}
+    		}
+    	}
+    	catch(IOException e) {
+    		scope.close();
+    		throw new UncheckedIOException("Could not map a " + bytes + " byte block in " + directory, e);
+    	}
+    	catch(RuntimeException | Error e) {
+    		scope.close();
+    		throw e;
+    	}
+    	scopes.add(scope);
+    	return segment;
+    }
+
+   /**
+    *Method that frees a block this allocator handed out. The block must not be used afterwards.
+    *
+    *@param segment -- the block to free
+    */
+    public synchronized void free(MemorySegment segment) {
+    	if(scopes.remove(segment.scope())) {
+    		segment.scope().close();
+    	}
+    }
+
+    //frees every block that is still live. Nothing allocated from this allocator may be used afterwards.
+    public synchronized void close() {
+    	for(ResourceScope scope : scopes) {
+    		scope.close();
+    	}
+    	scopes.clear();
+    }
+}
@@ -0,0 +1,194 @@
+/**
+ * @(#)SlidingBlockOffHeapOpenList.java
+ * This class is a SlidingBlockOpenList that keeps its handles outside the Java heap, in blocks from a SlidingBlockOffHeapMemory.
+ * Priorities are small integers, so instead of a binary heap it keeps one bucket per priority. Each bucket is a first in, first out queue of handles,
+ * so handles come out ordered by priority first and by the order they were added second, which is the same order SlidingBlockHeapOpenList uses.
+ *
+ * A bucket is a linked list of 4 KB pages. The first int of a page is the id of the next page in the bucket, and the other 1023 ints are handles.
+ * Pages are carved out of 1 MB slabs, and pages a bucket has emptied go on a free list (linked through the same first int) to be reused.
+ * The heap only holds the head and tail of each bucket, and the array of slab references.
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+import java.util.Arrays;
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+
+public class SlidingBlockOffHeapOpenList extends SlidingBlockOpenList {
+	private static final int NUMBUCKETS = 128; //one per priority. Heuristic values and move counts of a 3x3 search both stay well below this.
+	private static final int PAGEINTS = 1024; //ints per page, including the link
+	private static final long PAGESIZE = PAGEINTS * 4L;
+	private static final int SLABSHIFT = 8; //each slab holds 2^8 = 256 pages
+	private static final int SLABMASK = (1 << SLABSHIFT) - 1;
+	private static final int NONE = -1; //page id meaning "no page"
+
+	private SlidingBlockOffHeapMemory memory; //where the slabs come from
+	private MemorySegment slabs[];
+	private int numPages; //pages carved out of the slabs so far
+	private int freePages; //first page of the free list
+	private int headPages[]; //page holding each bucket's oldest handle
+	private int headPositions[]; //position of that handle within its page
+	private int tailPages[]; //page holding each bucket's newest handle
+	private int tailPositions[]; //position after that handle within its page
+	private int minBucket; //no bucket below this one holds a handle
+	private int size;
+
+   /**
+    *Constructor that creates an empty off-heap open list. No slabs are allocated until the first handle is added.
+    *
+    *@param mem -- the allocator to take slabs from
+    *@return SlidingBlockOffHeapOpenList
+    */
+    public SlidingBlockOffHeapOpenList(SlidingBlockOffHeapMemory mem) {
+    	memory = mem;
+    	slabs = new MemorySegment[4];
+    	numPages = 0;
+    	freePages = NONE;
+    	headPages = new int[NUMBUCKETS];
+    	headPositions = new int[NUMBUCKETS];
+    	tailPages = new int[NUMBUCKETS];
+    	tailPositions = new int[NUMBUCKETS];
+    	Arrays.fill(headPages, NONE);
+    	Arrays.fill(tailPages, NONE);
+    	minBucket = NUMBUCKETS;
+    	size = 0;
+    }
+
+    @Override
+    public void offer(int handle, int priority) {
+    	//a priority past the last bucket would only come out too early, never get lost
+    	int bucket = Math.max(0, Math.min(priority, NUMBUCKETS - 1));
+    	if(tailPages[bucket] == NONE) {
+    		int page = newPage();
+    		headPages[bucket] = page;
+    		tailPages[bucket] = page;
+    		headPositions[bucket] = 1;
+    		tailPositions[bucket] = 1;
+    	}
+    	else if(tailPositions[bucket] == PAGEINTS) {
+    		int page = newPage();
+    		setInt(tailPages[bucket], 0, page);
+    		tailPages[bucket] = page;
+    		tailPositions[bucket] = 1;
+    	}
+    	setInt(tailPages[bucket], tailPositions[bucket], handle);
+    	tailPositions[bucket]++;
+    	size++;
+    	if(bucket < minBucket) {
+    		minBucket = bucket;
+    	}
+    }
+
+    @Override
+    public int poll() {
+    	if(size == 0) {
+    		return -1;
+    	}
+    	int bucket = lowestBucket();
+    	int page = headPages[bucket];
+    	int handle = getInt(page, headPositions[bucket]);
+    	headPositions[bucket]++;
+    	size--;
+    	if(page == tailPages[bucket] && headPositions[bucket] == tailPositions[bucket]) {
+    		//the bucket is empty
+    		freePage(page);
+    		headPages[bucket] = NONE;
+    		tailPages[bucket] = NONE;
+    	}
+    	else if(headPositions[bucket] == PAGEINTS) {
+    		//the head page is used up, move on to the next one
+    		headPages[bucket] = getInt(page, 0);
+    		headPositions[bucket] = 1;
+    		freePage(page);
+    	}
+    	return handle;
+    }
+
+    @Override
+    public int peek() {
+    	if(size == 0) {
+    		return -1;
+    	}
+    	int bucket = lowestBucket();
+    	return getInt(headPages[bucket], headPositions[bucket]);
+    }
+
+   /**
+    *Walks the buckets in the order poll would empty them. It takes time proportional to index, so it's only meant for printing the list.
+    */
+    @Override
+    public int handleAt(int index) {
+    	for(int bucket = minBucket; bucket < NUMBUCKETS; bucket++) {
+    		int page = headPages[bucket];
+    		int pos = headPositions[bucket];
+    		while(page != NONE) {
+    			int end = (page == tailPages[bucket]) ? tailPositions[bucket] : PAGEINTS;
+    			if(index < end - pos) {
+    				return getInt(page, pos + index);
+    			}
+    			index -= end - pos;
+    			page = (page == tailPages[bucket]) ? NONE : getInt(page, 0);
+    			pos = 1;
+    		}
+    	}
+    	throw new IndexOutOfBoundsException("No handle at position " + index);
+    }
+
+    @Override
+    public int size() {
+    	return size;
+    }
+
+    //moves minBucket up to the first bucket holding a handle. Only called when the list isn't empty.
+    private int lowestBucket() {
+    	while(headPages[minBucket] == NONE) {
+    		minBucket++;
+    	}
+    	return minBucket;
+    }
+
+   /**
+    *Private helper that takes a page from the free list, or carves a new one out of the slabs, allocating a new slab when they're full.
+    *
+    *@return int -- id of the page
+    */
+    private int newPage() {
+    	int page;
+    	if(freePages != NONE) {
+    		page = freePages;
+    		freePages = getInt(page, 0);
+    	}
+    	else {
+    		int slab = numPages >>> SLABSHIFT;
+    		if(slab == slabs.length) {
+    			slabs = Arrays.copyOf(slabs, slabs.length * 2);
+    		}
+    		if(slabs[slab] == null) {
+    			slabs[slab] = memory.allocate((1L << SLABSHIFT) * PAGESIZE);
+    		}
+    		page = numPages;
+    		numPages++;
+    	}
+    	setInt(page, 0, NONE);
+    	return page;
+    }
+
+    //puts a page on the free list
+    private void freePage(int page) {
+    	setInt(page, 0, freePages);
+    	freePages = page;
+    }
+
+    //reads the int at a position within a page
+    private int getInt(int page, int pos) {
+    	return MemoryAccess.getIntAtOffset(slabs[page >>> SLABSHIFT], (page & SLABMASK) * PAGESIZE + pos * 4L);
+    }
+
+    //writes the int at a position within a page
+    private void setInt(int page, int pos, int value) {
+    	MemoryAccess.setIntAtOffset(slabs[page >>> SLABSHIFT], (page & SLABMASK) * PAGESIZE + pos * 4L, value);
+    }
+}
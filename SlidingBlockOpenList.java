@@ -0,0 +1,42 @@
+/**
+ * @(#)SlidingBlockOpenList.java
+ * This class describes the priority queue of the SlidingBlockSolver, holding the handles of SlidingBlockArena nodes that are waiting to be expanded.
+ * Handles come out ordered by priority first, and handles with equal priorities come out in the order they were added. The SlidingBlockSolver uses each node's heuristic value
+ * as its priority, and a SlidingBlockWorker uses its number of moves. Either way priorities are small, never negative, and below 128.
+ * SlidingBlockHeapOpenList keeps the handles in a binary heap on the Java heap, and SlidingBlockOffHeapOpenList keeps them in buckets outside it.
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+public abstract class SlidingBlockOpenList {
+
+   /**
+    *Method that adds a node handle to the list.
+    *
+    *@param handle -- handle of the node in the arena
+    *@param priority -- the node's priority, lower values come out first
+    */
+    public abstract void offer(int handle, int priority);
+
+   /**
+    *Method that removes the handle with the lowest priority from the list.
+    *
+    *@return int -- the removed handle, or -1 if the list is empty
+    */
+    public abstract int poll();
+
+    //returns the handle that poll would remove next, or -1 if the list is empty
+    public abstract int peek();
+
+    //returns the handle stored at a given position of the list, for printing the whole list. The order of positions is up to the list.
+    public abstract int handleAt(int index);
+
+    //number of handles in the list
+    public abstract int size();
+
+    public boolean isEmpty() {
+    	return size() == 0;
+    }
+}
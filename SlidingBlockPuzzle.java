@@ -6,6 +6,12 @@
  *	1. By entering a starting board state as a single string where each element is separated by a space. The empty tile must be specified as a 0.
  *		-Example: java SlidingBlockPuzzle 0,1,3,4,2,5,6,7,8
  *	2. With no additional parameters. Required data will be retrieved via input prompts at runtime.
+ * A starting board entered on the command line can be followed by "offheap", or "offheap=directory", to keep the search outside the Java heap (see SlidingBlockOffHeapMemory).
+ *		-Example: java --add-modules jdk.incubator.foreign SlidingBlockPuzzle 0 1 3 4 2 5 6 7 8 offheap=/tmp
+ *
+ * SlidingBlockVectorHeuristic and the off-heap structures use incubating APIs, so the classes are compiled with: javac --add-modules jdk.incubator.vector,jdk.incubator.foreign *.java
+ * Boards are scored by the scalar evaluator unless the vector one is asked for (see SlidingBlockHeuristic), which needs both flags:
+ *		-Example: java --add-modules jdk.incubator.vector -Dslidingblock.heuristic=vector SlidingBlockPuzzle 0 1 3 4 2 5 6 7 8
  *
  * @author Iain St. John
  * CSC 342 -- Artificial Intelligence -- Project One
@@ -18,6 +24,7 @@ public class SlidingBlockPuzzle {
         
     public static void main(String[] args) {
     	SlidingBlockSolver sbs; //our a* searching problem solving object
+    	SlidingBlockOffHeapMemory memory = null; //allocator for an off-heap search, if one was asked for
     	String filename; //parameter filename, if there is one
     	int startTiles[] = new int[9]; //array of starting tile positions, if entered
     	
@@ -92,10 +99,19 @@ public class SlidingBlockPuzzle {
         //the user entered something on the command line. We need to make sure it's valid
         else {
         	//ensure there enough tiles there
-        	if(args.length == 9) {
+        	if(args.length == 9 || args.length == 10) {
         		for(int i = 0; i < 9; i++) {	
         			startTiles[i] = Integer.parseInt(args[i]);
         		}
+        		//a tenth argument can only be the off-heap option
+        		if(args.length == 10) {
+        			String problem = SlidingBlockOffHeapMemory.checkOption(args[9]);
+        			if(problem != null) {
+        				System.out.println(problem);
+        				return;
+        			}
+        			memory = SlidingBlockOffHeapMemory.forOption(args[9]);
+        		}
         	}
         	else {
         		System.out.println("Invalid number of starting tiles. The 8-Block puzzle requires 9 numbers (0 for the empty space). Recall with correct number.");
@@ -105,27 +121,35 @@ public class SlidingBlockPuzzle {
         
         //we will have data within startTiles now, create the solver with an initial SlidingBlockState created from the acquired tile array.
         SlidingBlockState startState = new SlidingBlockState(startTiles);
-        sbs = new SlidingBlockSolver(startState);
+        //the allocator, if there is one, is ours to close however the search ends
+        try {
+	        sbs = new SlidingBlockSolver(startState, memory);
         
-       	//make sure a valid starting state was passed by the user.
-       	String check = sbs.checkStartValidity();
-       	if(check.equals("solved")) {
-       		System.out.println("There's no need to solve an 8-Block puzzle that is already solved. Please retry with a different initial configuration.");
-       		return;
-       	}
-       	if(check.equals("unsolvable")) {
-       		System.out.println("This 8-Block configuration is not solvable. Please retry with a different initial configuration.");
-       		return;
-       	}
-       	if(check.equals("repeats")) {
-       		System.out.println("There cannot be any repeating values on an 8-Block board. Please retry with a different initial configuration.");
-       		return;
-       	}
-       	if(check.equals("outlier")) {
-       		System.out.println("All tile values must be within the range of 0 to 8. Please retry with a different initial configuration.");
-       		return;
-       	}
-       	//all valid if we're here. All that's left is to call the search function, and let it run.
-        sbs.aStarSearch();
+	       	//make sure a valid starting state was passed by the user.
+	       	String check = sbs.checkStartValidity();
+	       	if(check.equals("solved")) {
+	       		System.out.println("There's no need to solve an 8-Block puzzle that is already solved. Please retry with a different initial configuration.");
+	       		return;
+	       	}
+	       	if(check.equals("unsolvable")) {
+	       		System.out.println("This 8-Block configuration is not solvable. Please retry with a different initial configuration.");
+	       		return;
+	       	}
+	       	if(check.equals("repeats")) {
+	       		System.out.println("There cannot be any repeating values on an 8-Block board. Please retry with a different initial configuration.");
+	       		return;
+	       	}
+	       	if(check.equals("outlier")) {
+	       		System.out.println("All tile values must be within the range of 0 to 8. Please retry with a different initial configuration.");
+	       		return;
+	       	}
+	       	//all valid if we're here. All that's left is to call the search function, and let it run.
+	        sbs.aStarSearch();
+        }
+        finally {
+        	if(memory != null) {
+        		memory.close();
+        	}
+        }
     }
 }
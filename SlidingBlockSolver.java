@@ -1,8 +1,10 @@
 /**
  * @(#)SlidingBlockSolver.java
  * This class contains the A* search algorithm utilized in finding a solution to the sliding block puzzle. The heuristic function for this search is the calculated Manhattan Distance of a given board state.
- * The algorithm will build an implicit tree of SldingBlockStates, each composed of a BoardState at the current step, the number of moves it took to reach that state, and the previous BoardState. 
- * The tree will be represented by a priority queue data structure. Each SlidingBlockState's priority will be the result of the heuristic function.
+ * The algorithm will build an implicit tree of search nodes, each composed of a packed board at the current step, the number of moves it took to reach that state, and the node it was reached from.
+ * Nodes are stored in a SlidingBlockArena and referred to by int handles. The tree will be represented by a priority queue of handles (SlidingBlockOpenList), where each node's priority is the result
+ * of the heuristic function, and a SlidingBlockClosedSet of every board generated so far, so that no board is queued twice.
+ * Given a SlidingBlockOffHeapMemory, the solver uses the off-heap versions of all three structures instead, so a giant search barely grows the Java heap.
  *
  * @author Iain St. John
  * CSC 342 -- Artificial Intelligence -- Project One
@@ -13,7 +15,14 @@
 import java.util.*;
 
 public class SlidingBlockSolver {
-	private PriorityQueue<SlidingBlockState> states; //our priority queue of SlidingBlockStates
+	private BoardState startBoard; //B^0 -- the board the search starts from
+	private SlidingBlockArena nodes; //every node generated by the search
+	private SlidingBlockOpenList states; //our priority queue of node handles
+	private SlidingBlockClosedSet seen; //every board generated so far, mapped to the handle of its node
+	private long possibleBoards[]; //scratch array receiving the boards reachable from the node being expanded
+	private long batchBoards[]; //the reachable boards that have not been generated before, scored together as one batch
+	private int batchHeuristics[]; //heuristic value of each board in the batch
+	private SlidingBlockHeuristic heuristic; //evaluates the heuristic function for a whole batch of boards at once
     
     /**
      *Constructor that takes a specified starting state of the puzzle, creates it, and adds it to a created priority queue
@@ -21,8 +30,36 @@ public class SlidingBlockSolver {
      *@param start -- initial SlidingBlockState
      */
      public SlidingBlockSolver(SlidingBlockState start) {
-     	states = new PriorityQueue<SlidingBlockState>(100);
-     	states.offer(start);
+     	this(start, null);
+     }
+     
+    /**
+     *Constructor that takes a specified starting state of the puzzle, and an allocator to keep the search's nodes, priority queue and closed set outside the Java heap.
+     *The allocator still belongs to the caller, who closes it once done with the solver.
+     *
+     *@param start -- initial SlidingBlockState
+     *@param memory -- allocator for off-heap storage, or null to keep everything on the heap
+     */
+     public SlidingBlockSolver(SlidingBlockState start, SlidingBlockOffHeapMemory memory) {
+     	startBoard = start.getCurrState();
+     	if(memory == null) {
+     		nodes = new SlidingBlockHeapArena();
+     		states = new SlidingBlockHeapOpenList(100);
+     		seen = new SlidingBlockHeapClosedSet(nodes, 100);
+     	}
+     	else {
+     		nodes = new SlidingBlockOffHeapArena(memory);
+     		states = new SlidingBlockOffHeapOpenList(memory);
+     		seen = new SlidingBlockOffHeapClosedSet(memory, nodes, 100);
+     	}
+     	possibleBoards = new long[4];
+     	batchBoards = new long[4];
+     	batchHeuristics = new int[4];
+     	heuristic = SlidingBlockHeuristic.create();
+     	long board = startBoard.pack();
+     	int root = nodes.add(board, start.getMoves(), start.getHeuristic(), SlidingBlockArena.NO_PARENT, SlidingBlockArena.NO_MOVE);
+     	states.offer(root, nodes.getHeuristic(root));
+     	seen.add(board, root);
      }
      
    /**
@@ -33,16 +70,26 @@ public class SlidingBlockSolver {
      *@return String -- a string that either states the reason why an initial state isn't valid, or that it passed.
      */
      public String checkStartValidity() {
-     	if(this.states.peek().getCurrState().isSolved()) {
+     	return checkStartValidity(startBoard);
+     }
+
+   /**
+     *Static version of checkStartValidity, for callers that want to check a board without building a solver for it, such as SlidingBlockDistributedSolver.
+     *
+     *@param board -- the starting configuration to check
+     *@return String -- a string that either states the reason why an initial state isn't valid, or that it passed.
+     */
+     public static String checkStartValidity(BoardState board) {
+     	if(board.isSolved()) {
      		return "solved";
      	}
-     	else if(!this.states.peek().getCurrState().isSolvable()) {
+     	else if(!board.isSolvable()) {
      		return "unsolvable";
      	}
-     	else if(!this.states.peek().getCurrState().noRepeats()) {
+     	else if(!board.noRepeats()) {
      		return "repeats";
      	}
-     	else if(!this.states.peek().getCurrState().allInRange()) {
+     	else if(!board.allInRange()) {
      		return "outlier";
      	}
      	else {
@@ -52,71 +99,115 @@ public class SlidingBlockSolver {
     
   /**
     *This is our A* search function, which employs the A star searching algorithm to find the solution to a given configuration of the 8-Block puzzle.
-    *It uses a priority queue of SlidingBlockStates to search for the solution, printing out each step along the way.
+    *It uses a priority queue of node handles to search for the solution, printing out each step along the way.
     *
     */
     public void aStarSearch() {
-    	boolean goalReached = false; //track whether or not we've reached a goal state
-    	int step = 0; //the step we are on
-    	
     	//print a message that we are starting our search
     	System.out.println("The search for the solution has commenced!");
-    	
+    	search(true);
+    } //end of aStarSearch method
+    
+   /**
+    *Quiet version of aStarSearch that prints nothing, for callers that run many searches, such as SlidingBlockLoadTest.
+    *
+    *@return int -- the number of moves to the goal state that was found, or -1 if no goal state was reached
+    */
+    public int solve() {
+    	int goal = search(false);
+    	if(goal == SlidingBlockArena.NO_PARENT) {
+    		return -1;
+    	}
+    	return nodes.getMoves(goal);
+    }
+    
+    //number of nodes the search has generated so far, including the starting node
+    public int getNodesGenerated() {
+    	return nodes.size();
+    }
+    
+   /**
+    *Private helper holding the search loop shared by aStarSearch and solve.
+    *
+    *@param print -- true to print out each step along the way
+    *@return int -- handle of the goal node, or NO_PARENT if the queue ran out first
+    */
+    private int search(boolean print) {
+    	int lastExpanded = SlidingBlockArena.NO_PARENT; //handle of the node expanded at the previous step
     	
     	//while we still have states in our queue and we haven't found the goal, continue
-    	while(!goalReached) {
+    	while(true) {
+    		
+    		//every board reachable from the start is eventually queued once, so an empty queue means there is nothing left to try.
+    		if(states.isEmpty()) {
+    			if(print) {
+    				System.out.println("Every reachable configuration was checked without finding a goal state.");
+    			}
+    			return SlidingBlockArena.NO_PARENT;
+    		}
     		
     		//because 2 goal states are included, the solver will sometimes move towards one because it yields a lower Manhattan Distance to find that it leads to an unsolvable state.
     		//This means that the solver will sometimes "back up." Check for that case, and print a notice that we're checking a previously added state.
-    		int lastStep = 0;
-    		SlidingBlockState next = states.peek();
-    		if(next.getMoves() < step) {
-    			lastStep = next.getMoves();
-    			System.out.println("Backing up " + (step - lastStep) + " steps, to step " + lastStep);
-    			next.setMoves(step);
+    		int next = states.peek();
+    		if(print && lastExpanded != SlidingBlockArena.NO_PARENT && nodes.getMoves(next) <= nodes.getMoves(lastExpanded)) {
+    			int lastStep = nodes.getMoves(next);
+    			System.out.println("Backing up " + (nodes.getMoves(lastExpanded) + 1 - lastStep) + " steps, to step " + lastStep);
     		}
-    		//remove closest state and increment the step
-    		SlidingBlockState current = states.poll();
-    		step++;
-    		
+    		//remove closest state
+    		int current = states.poll();
+    		lastExpanded = current;
     		
-    		System.out.println(current);
+    		if(print) {
+    			System.out.println(nodes.toString(current));
+    		}
     		
     		//check if we have found a goal state
-    		if(current.getCurrState().isSolved()) {
-    			goalReached = true;
-    			System.out.println(current.goalStateString());
-    			break;
+    		if(BoardState.isSolved(nodes.getBoard(current))) {
+    			if(print) {
+    				System.out.println(nodes.goalStateString(current));
+    			}
+    			return current;
     		}
     		
     		//if we have not found our goal state, we need to keep looking. Generate our frontier
-    		SlidingBlockState horizon[] = current.getFrontier();
-    		
-    		//add each game state on the horizon to the queue, so long as it isn't our last state, and it isn't already in the queue.
-    		for(SlidingBlockState sbs : horizon) {
-    			
-    			//if last state is null, we're on the first state, and don't need to check for redundant states.
-    			if((current.getLastState()) == null) {
-    				sbs.setMoves(step);
-    				//tell the state which goal to look for
-    				states.offer(sbs);
-    			}
-				
-				//do not add the state from which we arrived.
-    			else if(!(sbs.getCurrState().equals(current.getLastState()))) {
-					if(!(states.contains(sbs))) {
-						sbs.setMoves(step);
-						//tell the state which goal to look for
-						states.offer(sbs);
-					}
-    			}
-    		}
+    		expand(current);
     	} //end of while loop
-		
-    } //end of aStarSearch method
+    }
     
-    //returns string generated by the Priority queue's toString method
+   /**
+    *Private helper that generates every board reachable from a node, and adds a new node to the queue for each board that has not been generated before.
+    *The closed set also covers the board we arrived from, so it is never added back. The new boards are scored together in one call to the batch heuristic evaluator.
+    *
+    *@param current -- handle of the node to expand
+    */
+    private void expand(int current) {
+    	int numPossible = BoardState.generatePossibleBoards(nodes.getBoard(current), possibleBoards);
+    	int numMoves = nodes.getMoves(current) + 1;
+    	int blankPos = BoardState.blankPosition(nodes.getBoard(current));
+    	int batchSize = 0;
+    	for(int i = 0; i < numPossible; i++) {
+    		if(seen.get(possibleBoards[i]) == SlidingBlockClosedSet.NOT_FOUND) {
+    			batchBoards[batchSize] = possibleBoards[i];
+    			batchSize++;
+    		}
+    	}
+    	heuristic.evaluate(batchBoards, batchSize, batchHeuristics);
+    	for(int i = 0; i < batchSize; i++) {
+    		int child = nodes.add(batchBoards[i], numMoves, batchHeuristics[i], current, blankPos);
+    		seen.add(batchBoards[i], child);
+    		states.offer(child, batchHeuristics[i]);
+    	}
+    }
+    
+    //returns a string listing every queued game state, in the style of a collection's toString
     public String toString() {
-    	return states.toString();
+    	StringBuilder str = new StringBuilder("[");
+    	for(int i = 0; i < states.size(); i++) {
+    		if(i > 0) {
+    			str.append(", ");
+    		}
+    		str.append(nodes.toString(states.handleAt(i)));
+    	}
+    	return str.append("]").toString();
     } 
-}
\ No newline at end of file
+}
@@ -2,7 +2,7 @@
  * @(#)SlidingBlockState.java
  * This class represents an individual state of the sliding block/8-block puzzle. It consists of a board state at step i, the previous state (NULL if at the first step), and the number of moves made to reach the current board state.	
  * This class implements the Comparator interface for integers, in order to support a logical ordering within the priority queue used in the SlidingBlockSolver. SlidingBlockStates are compared using their numMoves property.
- * A SlidingBlockState is an individual game state.
+ * A SlidingBlockState is an individual game state. The SlidingBlockSolver only uses one to describe where a search starts; the nodes it generates are stored in a SlidingBlockArena.
  *
  * @author Iain St. John
  * CSC 342 -- Artificial Intelligence -- Project One
@@ -0,0 +1,76 @@
+/**
+ * @(#)SlidingBlockVectorHeuristic.java
+ * This class is the SIMD version of SlidingBlockHeuristic, built on the incubating Vector API. Each lane of a LongVector holds one whole packed board of the batch,
+ * so the nibble of a given position is pulled out of every board at once with one shift and one mask, the same for every lane. The distance of that tile from its goal position
+ * is then worked out in the lanes, |tile - position| for SOLVEDZEROSTART and |tile - (position + 1)| for SOLVEDZEROEND, which are exactly the entries of the two distance tables,
+ * and added to two running totals. The blank mustn't count, so each distance is capped at tile * 8 first: that is 0 for the blank, and never less than a real tile's distance.
+ * The heuristic is the lane-wise minimum of the two totals. Nothing is gathered, no lane masks are needed, and nothing leaves the vector registers until the totals are done.
+ *
+ * Vectors are 256 bits wide, which gives 4 long lanes: exactly the largest number of boards a single expansion can generate. Bigger batches, such as a block of boards received
+ * from another worker, are scored 4 boards at a time, and the last, partly filled block is padded with a solved board whose result is thrown away.
+ *
+ * Compiling and running this class requires --add-modules jdk.incubator.vector. SlidingBlockHeuristic.create only hands it out when that module is present and the JVM
+ * was started with -Dslidingblock.heuristic=vector. On 3x3 boards it is a little slower than the scalar evaluator, so it is never picked by default.
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+public class SlidingBlockVectorHeuristic extends SlidingBlockHeuristic {
+	private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_256;
+	private static final int LANES = SPECIES.length();
+	private long block[]; //boards of the block being scored, padded out to LANES
+	private long totals[]; //heuristic values of the block being scored
+
+   /**
+    *Constructor for the vector evaluator. SlidingBlockHeuristic.create calls it by reflection.
+    *
+    *@return SlidingBlockVectorHeuristic
+    */
+    public SlidingBlockVectorHeuristic() {
+    	block = new long[LANES];
+    	totals = new long[LANES];
+    }
+
+   /**
+    *Method that evaluates the heuristic function for a batch of packed boards, LANES boards at a time.
+    *
+    *@param boards -- packed boards to evaluate
+    *@param count -- number of boards, starting at index 0, to evaluate
+    *@param heuristics -- array receiving the heuristic value of each board, at the same index as the board
+    */
+    @Override
+    public void evaluate(long boards[], int count, int heuristics[]) {
+    	for(int first = 0; first < count; first += LANES) {
+    		int lanes = Math.min(LANES, count - first); //boards in this block
+    		for(int lane = 0; lane < LANES; lane++) {
+    			block[lane] = (lane < lanes) ? boards[first + lane] : BoardState.PACKEDZEROSTART;
+    		}
+    		LongVector packed = LongVector.fromArray(SPECIES, block, 0);
+
+    		LongVector total1 = LongVector.zero(SPECIES); //distances to SOLVEDZEROSTART
+    		LongVector total2 = LongVector.zero(SPECIES); //distances to SOLVEDZEROEND
+    		for(int pos = 0; pos < 9; pos++) {
+    			LongVector tile = packed.lanewise(VectorOperators.LSHR, 4 * pos).and(0xFL);
+    			LongVector cap = tile.lanewise(VectorOperators.LSHL, 3); //the blank doesn't factor in to the calculation
+    			total1 = total1.add(tile.sub(pos).abs().min(cap));
+    			total2 = total2.add(tile.sub(pos + 1).abs().min(cap));
+    		}
+    		total1.min(total2).intoArray(totals, 0);
+    		for(int lane = 0; lane < lanes; lane++) {
+    			heuristics[first + lane] = (int)totals[lane];
+    		}
+    	}
+    }
+
+    //returns a short description of the evaluator, for reporting which one is in use
+    @Override
+    public String toString() {
+    	return "vector (" + LANES + " lanes)";
+    }
+}
@@ -0,0 +1,600 @@
+/**
+ * @(#)SlidingBlockWorker.java
+ * This class is one worker process of a SlidingBlockDistributedSolver search. The boards of the puzzle are hash partitioned across the workers: every board has exactly one owner (see owner),
+ * and only the owner ever stores, queues or expands it. Each worker runs its own search over the boards it owns, with its own SlidingBlockArena, SlidingBlockOpenList and SlidingBlockClosedSet,
+ * so the frontier the search can hold grows with the number of workers, and the closed sets still catch every duplicate board.
+ *
+ * A worker doesn't stop at the first goal. Every goal it finds is reported to the coordinator, which sends the fewest moves of any goal found so far, the bound, to every worker.
+ * From then on a worker only keeps nodes that could still lead to a goal in fewer moves than the bound. The heuristic can overestimate, so only moves are used for that,
+ * and each worker also expands its nodes in order of moves, so a board is almost always stored first by its shortest path. Only a batch from a worker that is running behind can bring a shorter path to a board after it was stored.
+ * The shorter path then replaces the old node in the closed set, and the old node is skipped when it comes out of the queue.
+ *
+ * When an expansion generates a board some other worker owns, the board and its number of moves are buffered for that worker, and sent to it in batches.
+ * A batch is a run of 12 byte records (the packed board as a long, the moves as an int) compressed with a Deflater. Incoming batches are checked against the closed set and scored together
+ * by the batch heuristic evaluator before they are queued. Every worker connects to every other worker, and to the coordinator, which tracks the bound and decides when the search is over.
+ * Only INBOXBATCHES decoded batches wait for the search thread at a time. Once that many are waiting, the threads reading from other workers stop reading,
+ * and TCP flow control holds the senders back. Batches are sent without blocking, and a worker whose peer is backed up takes in its own waiting batches until the peer catches up,
+ * so two workers sending to each other can never both be stuck waiting.
+ *
+ * This class can be called on a command line like so:
+ *		java SlidingBlockWorker coordinatorHost coordinatorPort [offheap | offheap=directory]
+ *		-Example: java SlidingBlockWorker 127.0.0.1 7342
+ *	The optional third argument keeps the worker's nodes, priority queue and closed set outside the Java heap (see SlidingBlockOffHeapMemory).
+ *
+ * @author Iain St. John
+ * CSC 342 -- Artificial Intelligence -- Project One
+ * @version 1.00 2016/2/13
+ */
+
+import java.io.*;
+import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
+
+public class SlidingBlockWorker {
+	//message types. Each message is its type byte followed by the fields listed.
+	public static final int HELLO = 1; //worker to coordinator: int port the worker accepts peer connections on
+	public static final int START = 2; //coordinator to worker: int worker id, int number of workers, then a UTF host and int port per worker, then long starting board
+	public static final int PROBE = 3; //coordinator to worker: int wave number
+	public static final int PROBEREPLY = 4; //worker to coordinator: int wave number, boolean idle, long batches sent, long batches received
+	public static final int GOAL = 5; //worker to coordinator: int moves to reach the goal, long goal board
+	public static final int STOP = 6; //coordinator to worker: nothing
+	public static final int STATS = 7; //worker to coordinator: long nodes stored, long batches sent, long batches received
+	public static final int BATCH = 8; //worker to worker: int number of records, int compressed length, then the compressed records
+	public static final int BOUND = 9; //coordinator to worker: int fewest moves of any goal found so far
+
+	private static final int BATCHSIZE = 512; //records buffered for a peer before they are sent
+	private static final int EXPANSIONSPERFLUSH = 256; //expansions between flushes of every partly filled buffer
+	private static final int RECORDSIZE = 12; //bytes per record before compression
+	private static final int BATCHHEADERSIZE = 9; //type byte, record count and compressed length of a BATCH message
+	private static final int INBOXBATCHES = 64; //decoded batches allowed to wait for the search thread
+
+	private int workerId; //this worker's partition number
+	private int numWorkers; //number of partitions
+	private ServerSocket peerServer; //accepts connections from the other workers
+	private Socket coordinator;
+	private DataInputStream coordinatorIn;
+	private DataOutputStream coordinatorOut; //shared by the search thread and the coordinator reader thread, so writes synchronize on it
+	private SocketChannel peerOuts[]; //non-blocking connection to each other worker, indexed by worker id. Only the search thread writes to them.
+	private BlockingQueue<long[]> inbox; //decoded batches from other workers, as alternating board, moves pairs. Holds at most INBOXBATCHES.
+
+	private SlidingBlockArena nodes; //every node this worker has stored
+	private SlidingBlockOpenList states; //this worker's priority queue of node handles
+	private SlidingBlockClosedSet seen; //every board this worker owns that has been stored
+	private SlidingBlockHeuristic heuristic; //batch heuristic evaluator
+	private long outBoards[][]; //boards waiting to be sent to each worker
+	private int outMoves[][]; //moves of the boards waiting to be sent
+	private int outCounts[]; //number of records waiting for each worker
+	private Deflater deflater; //compresses every outgoing batch, reset in between
+	private ByteBuffer records; //the records of the outgoing batch, before compression
+	private ByteBuffer message; //the outgoing BATCH message, header and compressed records
+	private long possibleBoards[]; //scratch array used by expand
+	private long batchBoards[]; //boards this worker owns, waiting to be scored and queued
+	private int batchMoves[];
+	private int batchParents[];
+	private int batchLastMoves[];
+	private int batchHeuristics[];
+	private int batchSize;
+
+	//termination detection state, see SlidingBlockDistributedSolver. Guarded by the worker itself.
+	private boolean idle;
+	private long batchesSent;
+	private long batchesReceived;
+	private volatile boolean stopped; //set when the coordinator says STOP
+	private volatile int bound; //fewest moves of any goal found so far, by any worker. Lowered by the search thread and the coordinator reader thread.
+
+   /**
+    *Constructor that connects a worker to its coordinator and announces it.
+    *
+    *@param host -- coordinator's host
+    *@param port -- coordinator's port
+    *@param memory -- allocator for off-heap storage, or null to keep everything on the heap
+    *@return SlidingBlockWorker
+    *@throws IOException -- if the coordinator can't be reached
+    */
+    public SlidingBlockWorker(String host, int port, SlidingBlockOffHeapMemory memory) throws IOException {
+    	peerServer = new ServerSocket(0);
+    	coordinator = new Socket(host, port);
+    	coordinator.setTcpNoDelay(true);
+    	coordinatorIn = new DataInputStream(new BufferedInputStream(coordinator.getInputStream()));
+    	coordinatorOut = new DataOutputStream(new BufferedOutputStream(coordinator.getOutputStream()));
+    	synchronized(coordinatorOut) {
+    		coordinatorOut.writeByte(HELLO);
+    		coordinatorOut.writeInt(peerServer.getLocalPort());
+    		coordinatorOut.flush();
+    	}
+    	inbox = new ArrayBlockingQueue<long[]>(INBOXBATCHES);
+    	if(memory == null) {
+    		nodes = new SlidingBlockHeapArena();
+    		states = new SlidingBlockHeapOpenList(1024);
+    		seen = new SlidingBlockHeapClosedSet(nodes, 1024);
+    	}
+    	else {
+    		nodes = new SlidingBlockOffHeapArena(memory);
+    		states = new SlidingBlockOffHeapOpenList(memory);
+    		seen = new SlidingBlockOffHeapClosedSet(memory, nodes, 1024);
+    	}
+    	heuristic = SlidingBlockHeuristic.create();
+    	possibleBoards = new long[4];
+    	batchBoards = new long[BATCHSIZE];
+    	batchMoves = new int[BATCHSIZE];
+    	batchParents = new int[BATCHSIZE];
+    	batchLastMoves = new int[BATCHSIZE];
+    	batchHeuristics = new int[BATCHSIZE];
+    	deflater = new Deflater(Deflater.BEST_SPEED);
+    	records = ByteBuffer.allocate(BATCHSIZE * RECORDSIZE);
+    	message = ByteBuffer.allocate(BATCHHEADERSIZE + BATCHSIZE * RECORDSIZE + 64);
+    	idle = false;
+    	bound = Integer.MAX_VALUE;
+    }
+
+   /**
+    *Method that returns the worker that owns a board. It mixes the board with a different constant than SlidingBlockClosedSet.hash,
+    *so that the boards one worker owns still spread evenly over its closed set.
+    *
+    *@param board -- a packed board
+    *@param numWorkers -- number of partitions
+    *@return int -- the owning worker's id
+    */
+    public static int owner(long board, int numWorkers) {
+    	long h = board * 0xC2B2AE3D27D4EB4FL;
+    	return (int)((h >>> 33) % numWorkers);
+    }
+
+   /**
+    *Method that waits for the coordinator's START message, connects to every other worker, and runs this worker's part of the search until the coordinator says STOP.
+    *
+    *@throws IOException -- if a connection fails
+    */
+    public void run() throws IOException, InterruptedException {
+    	if(coordinatorIn.readByte() != START) {
+    		throw new IOException("Expected a START message from the coordinator.");
+    	}
+    	workerId = coordinatorIn.readInt();
+    	numWorkers = coordinatorIn.readInt();
+    	String hosts[] = new String[numWorkers];
+    	int ports[] = new int[numWorkers];
+    	for(int i = 0; i < numWorkers; i++) {
+    		hosts[i] = coordinatorIn.readUTF();
+    		ports[i] = coordinatorIn.readInt();
+    	}
+    	long startBoard = coordinatorIn.readLong();
+
+    	outBoards = new long[numWorkers][BATCHSIZE];
+    	outMoves = new int[numWorkers][BATCHSIZE];
+    	outCounts = new int[numWorkers];
+    	startPeerAcceptor(numWorkers - 1);
+    	peerOuts = new SocketChannel[numWorkers];
+    	for(int i = 0; i < numWorkers; i++) {
+    		if(i != workerId) {
+    			peerOuts[i] = SocketChannel.open(new InetSocketAddress(hosts[i], ports[i]));
+    			ByteBuffer hello = ByteBuffer.allocate(4).putInt(workerId);
+    			hello.flip();
+    			while(hello.hasRemaining()) {
+    				peerOuts[i].write(hello);
+    			}
+    			peerOuts[i].configureBlocking(false);
+    		}
+    	}
+    	startCoordinatorReader();
+
+    	if(owner(startBoard, numWorkers) == workerId) {
+    		queueOwned(startBoard, 0, SlidingBlockArena.NO_PARENT, SlidingBlockArena.NO_MOVE);
+    		scoreAndQueue();
+    	}
+    	search();
+
+    	//tell the coordinator how much this worker stored, then hang up
+    	synchronized(coordinatorOut) {
+    		coordinatorOut.writeByte(STATS);
+    		coordinatorOut.writeLong(nodes.size());
+    		coordinatorOut.writeLong(batchesSent);
+    		coordinatorOut.writeLong(batchesReceived);
+    		coordinatorOut.flush();
+    	}
+    	for(SocketChannel out : peerOuts) {
+    		if(out != null) {
+    			out.close();
+    		}
+    	}
+    	deflater.end();
+    	peerServer.close();
+    	coordinator.close();
+    }
+
+    //lowers the bound, unless it is already at least as low
+    private synchronized void lowerBound(int moves) {
+    	if(moves < bound) {
+    		bound = moves;
+    	}
+    }
+
+   /**
+    *Private helper holding this worker's search loop. It takes in batches from other workers whenever they arrive, expands its own best nodes,
+    *and when it runs out of nodes, flushes what it owes other workers and waits for more work or for STOP.
+    */
+    private void search() throws IOException, InterruptedException {
+    	int expansions = 0;
+    	while(!stopped) {
+    		long batch[] = takeBatch(false);
+    		if(batch != null) {
+    			receiveBatch(batch);
+    			continue;
+    		}
+    		if(!states.isEmpty()) {
+    			int current = states.poll();
+    			long board = nodes.getBoard(current);
+    			int moves = nodes.getMoves(current);
+    			//drop nodes that can't lead to a goal in fewer moves than the bound, and nodes a shorter path to the same board has replaced
+    			if(moves >= bound || seen.get(board) != current) {
+    				continue;
+    			}
+    			if(BoardState.isSolved(board)) {
+    				lowerBound(moves);
+    				synchronized(coordinatorOut) {
+    					coordinatorOut.writeByte(GOAL);
+    					coordinatorOut.writeInt(moves);
+    					coordinatorOut.writeLong(board);
+    					coordinatorOut.flush();
+    				}
+    				continue;
+    			}
+    			expand(current);
+    			expansions++;
+    			if(expansions % EXPANSIONSPERFLUSH == 0) {
+    				flushAll();
+    			}
+    			continue;
+    		}
+    		//nothing left to expand. Send everything still buffered, then wait for a batch.
+    		flushAll();
+    		batch = takeBatch(true);
+    		if(batch != null) {
+    			receiveBatch(batch);
+    		}
+    	}
+    }
+
+   /**
+    *Private helper that takes the next batch from the inbox, and keeps the idle flag and the received counter consistent with it.
+    *When there is no batch, and there is no local work either, the worker is idle until one arrives.
+    *
+    *@param wait -- true to wait briefly for a batch to arrive
+    *@return long[] -- the batch, or null if there was none
+    */
+    private long[] takeBatch(boolean wait) throws InterruptedException {
+    	long batch[];
+    	synchronized(this) {
+    		batch = inbox.poll();
+    		if(batch == null && wait) {
+    			idle = true;
+    		}
+    	}
+    	if(batch == null && wait) {
+    		batch = inbox.poll(20, TimeUnit.MILLISECONDS);
+    	}
+    	if(batch != null) {
+    		synchronized(this) {
+    			batchesReceived++;
+    			idle = false;
+    		}
+    	}
+    	return batch;
+    }
+
+   /**
+    *Private helper that queues the boards of a batch from another worker. The closed set drops the ones this worker has already stored,
+    *and the rest are scored as one block by the heuristic evaluator. Their parents live on other workers, so they're stored without one.
+    *
+    *@param batch -- alternating board, moves pairs
+    */
+    private void receiveBatch(long batch[]) {
+    	for(int i = 0; i < batch.length; i += 2) {
+    		queueOwned(batch[i], (int)batch[i + 1], SlidingBlockArena.NO_PARENT, SlidingBlockArena.NO_MOVE);
+    		if(batchSize == BATCHSIZE) {
+    			scoreAndQueue();
+    		}
+    	}
+    	scoreAndQueue();
+    }
+
+   /**
+    *Private helper that generates every board reachable from a node. Boards this worker owns are queued here, and the rest are buffered for their owners.
+    *Nothing is generated if the new boards couldn't beat the bound.
+    *
+    *@param current -- handle of the node to expand
+    */
+    private void expand(int current) throws IOException, InterruptedException {
+    	int numMoves = nodes.getMoves(current) + 1;
+    	if(numMoves >= bound) {
+    		return;
+    	}
+    	long board = nodes.getBoard(current);
+    	int numPossible = BoardState.generatePossibleBoards(board, possibleBoards);
+    	int blankPos = BoardState.blankPosition(board);
+    	for(int i = 0; i < numPossible; i++) {
+    		int owner = owner(possibleBoards[i], numWorkers);
+    		if(owner == workerId) {
+    			queueOwned(possibleBoards[i], numMoves, current, blankPos);
+    		}
+    		else {
+    			outBoards[owner][outCounts[owner]] = possibleBoards[i];
+    			outMoves[owner][outCounts[owner]] = numMoves;
+    			outCounts[owner]++;
+    			if(outCounts[owner] == BATCHSIZE) {
+    				flush(owner);
+    			}
+    		}
+    	}
+    	scoreAndQueue();
+    }
+
+   /**
+    *Private helper that adds a board this worker owns to the batch waiting to be scored, unless it can't beat the bound, or it has already been stored with at most as many moves.
+    */
+    private void queueOwned(long board, int numMoves, int parent, int lastMove) {
+    	if(numMoves >= bound || !isShorter(board, numMoves)) {
+    		return;
+    	}
+    	batchBoards[batchSize] = board;
+    	batchMoves[batchSize] = numMoves;
+    	batchParents[batchSize] = parent;
+    	batchLastMoves[batchSize] = lastMove;
+    	batchSize++;
+    }
+
+    //true if a board has never been stored, or was stored with more moves than numMoves
+    private boolean isShorter(long board, int numMoves) {
+    	int known = seen.get(board);
+    	return known == SlidingBlockClosedSet.NOT_FOUND || numMoves < nodes.getMoves(known);
+    }
+
+   /**
+    *Private helper that scores the waiting batch with one call to the heuristic evaluator, and stores and queues every board in it, by its number of moves.
+    *Boards that can't beat the bound are dropped. The closed set only learns about a board once its node is stored,
+    *so a board that appears twice in the same batch is caught here too. A board that was stored before, with more moves, gets a new node, which replaces the old one in the closed set.
+    */
+    private void scoreAndQueue() {
+    	if(batchSize == 0) {
+    		return;
+    	}
+    	heuristic.evaluate(batchBoards, batchSize, batchHeuristics);
+    	for(int i = 0; i < batchSize; i++) {
+    		if(batchMoves[i] >= bound || !isShorter(batchBoards[i], batchMoves[i])) {
+    			continue;
+    		}
+    		int handle = nodes.add(batchBoards[i], batchMoves[i], batchHeuristics[i], batchParents[i], batchLastMoves[i]);
+    		if(!seen.add(batchBoards[i], handle)) {
+    			seen.replace(batchBoards[i], handle);
+    		}
+    		states.offer(handle, batchMoves[i]);
+    	}
+    	batchSize = 0;
+    }
+
+    //sends every partly filled buffer
+    private void flushAll() throws IOException, InterruptedException {
+    	for(int i = 0; i < numWorkers; i++) {
+    		if(outCounts[i] > 0) {
+    			flush(i);
+    		}
+    	}
+    }
+
+   /**
+    *Private helper that compresses the records buffered for a worker and sends them as one BATCH message. The deflater and both buffers are reused for every batch.
+    *While the peer isn't taking any more bytes, this worker takes in the batches waiting in its own inbox, so the other workers' readers, and in turn their senders, can keep going.
+    *
+    *@param peer -- id of the worker to send to
+    */
+    private void flush(int peer) throws IOException, InterruptedException {
+    	int count = outCounts[peer];
+    	records.clear();
+    	for(int i = 0; i < count; i++) {
+    		records.putLong(outBoards[peer][i]);
+    		records.putInt(outMoves[peer][i]);
+    	}
+    	deflater.reset();
+    	deflater.setInput(records.array(), 0, records.position());
+    	deflater.finish();
+    	int length = 0;
+    	while(!deflater.finished()) {
+    		if(BATCHHEADERSIZE + length == message.capacity()) {
+    			ByteBuffer bigger = ByteBuffer.allocate(message.capacity() * 2);
+    			bigger.put(message.array(), 0, message.capacity());
+    			message = bigger;
+    		}
+    		length += deflater.deflate(message.array(), BATCHHEADERSIZE + length, message.capacity() - BATCHHEADERSIZE - length);
+    	}
+    	message.clear();
+    	message.put((byte)BATCH);
+    	message.putInt(count);
+    	message.putInt(length);
+    	message.position(0);
+    	message.limit(BATCHHEADERSIZE + length);
+
+    	synchronized(this) {
+    		batchesSent++;
+    	}
+    	SocketChannel out = peerOuts[peer];
+    	while(message.hasRemaining() && !stopped) {
+    		if(out.write(message) == 0) {
+    			long batch[] = takeBatch(false);
+    			if(batch != null) {
+    				receiveBatch(batch);
+    			}
+    			else {
+    				Thread.sleep(1);
+    			}
+    		}
+    	}
+    	outCounts[peer] = 0;
+    }
+
+   /**
+    *Method that reads one BATCH message, after its type byte, and decompresses it.
+    *
+    *@param in -- the stream to read from
+    *@return long[] -- the records of the batch, as alternating board, moves pairs
+    *@throws IOException -- if the stream fails or the batch is corrupt
+    */
+    public static long[] readBatch(DataInputStream in) throws IOException {
+    	int count = in.readInt();
+    	byte compressed[] = new byte[in.readInt()];
+    	in.readFully(compressed);
+    	byte raw[] = new byte[count * RECORDSIZE];
+    	Inflater inflater = new Inflater();
+    	inflater.setInput(compressed);
+    	try {
+    		int length = 0;
+    		while(length < raw.length && !inflater.finished()) {
+    			int n = inflater.inflate(raw, length, raw.length - length);
+    			if(n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+    				break;
+    			}
+    			length += n;
+    		}
+    		if(length != raw.length) {
+    			throw new IOException("Truncated batch: expected " + raw.length + " bytes, got " + length);
+    		}
+    	}
+    	catch(DataFormatException e) {
+    		throw new IOException("Corrupt batch", e);
+    	}
+    	finally {
+    		inflater.end();
+    	}
+    	long batch[] = new long[count * 2];
+    	ByteBuffer records = ByteBuffer.wrap(raw);
+    	for(int i = 0; i < count; i++) {
+    		batch[2 * i] = records.getLong();
+    		batch[2 * i + 1] = records.getInt();
+    	}
+    	return batch;
+    }
+
+   /**
+    *Private helper that starts a daemon thread accepting a number of connections from other workers. Each connection gets its own daemon thread,
+    *which decodes every batch that arrives on it into the inbox, and quits when the other worker hangs up.
+    *
+    *@param count -- number of connections to accept
+    */
+    private void startPeerAcceptor(final int count) {
+    	Thread acceptor = new Thread(new Runnable() {
+    		public void run() {
+    			try {
+    				for(int i = 0; i < count; i++) {
+    					final Socket peer = peerServer.accept();
+    					Thread reader = new Thread(new Runnable() {
+    						public void run() {
+    							try {
+    								DataInputStream in = new DataInputStream(new BufferedInputStream(peer.getInputStream()));
+    								in.readInt(); //the peer's id
+    								while(true) {
+    									int type = in.read();
+    									if(type < 0) { //the peer hung up
+    										break;
+    									}
+    									if(type != BATCH) {
+    										throw new IOException("Unexpected message type " + type + " from a peer.");
+    									}
+    									inbox.put(readBatch(in)); //waits while the inbox is full, which stops this thread reading from the peer
+    								}
+    							}
+    							catch(IOException e) {
+    								if(!stopped) {
+    									e.printStackTrace();
+    								}
+    							}
+    							catch(InterruptedException e) {
+    								//nothing interrupts the readers. If something did, the peer is abandoned like a peer that hung up.
+    							}
+    						}
+    					});
+    					reader.setDaemon(true);
+    					reader.start();
+    				}
+    			}
+    			catch(IOException e) {
+    				if(!stopped) {
+    					e.printStackTrace();
+    				}
+    			}
+    		}
+    	});
+    	acceptor.setDaemon(true);
+    	acceptor.start();
+    }
+
+   /**
+    *Private helper that starts a daemon thread answering the coordinator's PROBE messages, lowering the bound when it sends one, and setting stopped when it says STOP.
+    *A probe reply is a snapshot of the idle flag and both counters, taken together under the worker's lock.
+    */
+    private void startCoordinatorReader() {
+    	Thread reader = new Thread(new Runnable() {
+    		public void run() {
+    			try {
+    				while(true) {
+    					int type = coordinatorIn.readByte();
+    					if(type == STOP) {
+    						break;
+    					}
+    					if(type == BOUND) {
+    						lowerBound(coordinatorIn.readInt());
+    						continue;
+    					}
+    					if(type != PROBE) {
+    						throw new IOException("Unexpected message type " + type + " from the coordinator.");
+    					}
+    					int wave = coordinatorIn.readInt();
+    					boolean wasIdle;
+    					long sent, received;
+    					synchronized(SlidingBlockWorker.this) {
+    						wasIdle = idle;
+    						sent = batchesSent;
+    						received = batchesReceived;
+    					}
+    					synchronized(coordinatorOut) {
+    						coordinatorOut.writeByte(PROBEREPLY);
+    						coordinatorOut.writeInt(wave);
+    						coordinatorOut.writeBoolean(wasIdle);
+    						coordinatorOut.writeLong(sent);
+    						coordinatorOut.writeLong(received);
+    						coordinatorOut.flush();
+    					}
+    				}
+    			}
+    			catch(IOException e) {
+    				e.printStackTrace();
+    			}
+    			stopped = true;
+    		}
+    	});
+    	reader.setDaemon(true);
+    	reader.start();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+    	if(args.length != 2 && args.length != 3) {
+    		System.out.println("Usage: java SlidingBlockWorker coordinatorHost coordinatorPort [offheap | offheap=directory]\n-Example: java SlidingBlockWorker 127.0.0.1 7342");
+    		return;
+    	}
+    	String problem = (args.length == 3) ? SlidingBlockOffHeapMemory.checkOption(args[2]) : null;
+    	if(problem != null) {
+    		System.out.println(problem);
+    		return;
+    	}
+    	SlidingBlockOffHeapMemory memory = (args.length == 3) ? SlidingBlockOffHeapMemory.forOption(args[2]) : null;
+    	try {
+    		new SlidingBlockWorker(args[0], Integer.parseInt(args[1]), memory).run();
+    	}
+    	finally {
+    		if(memory != null) {
+    			memory.close();
+    		}
+    	}
+    }
+}